@@ -0,0 +1,36 @@
+package cryptography.benchmarks;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+public final class BenchmarkKeys {
+    // fixed seed so that every run of a benchmark works on the same primes and inputs
+    public static final long SEED = 0x5EEDL;
+
+    private BenchmarkKeys() {
+    }
+
+    public static BigInteger[] paillierPrimes(int keyBits) {
+        // generating two distinct primes of keyBits / 2 bits each so that n = p * q has keyBits bits
+        Random random = new Random(SEED ^ keyBits);
+        BigInteger p = BigInteger.probablePrime(keyBits / 2, random);
+        BigInteger q = BigInteger.probablePrime(keyBits / 2, random);
+        while (q.equals(p)) {
+            q = BigInteger.probablePrime(keyBits / 2, random);
+        }
+        return new BigInteger[]{p, q};
+    }
+
+    public static BigInteger elgamalPrime(int keyBits) {
+        return BigInteger.probablePrime(keyBits, new Random(SEED ^ keyBits));
+    }
+
+    public static BigInteger randomBelow(BigInteger upperLimit, Random random) {
+        // uniformly selecting a value from [1, upperLimit-1]
+        BigInteger result;
+        do {
+            result = new BigInteger(upperLimit.bitLength(), random);
+        } while (result.signum() == 0 || result.compareTo(upperLimit) >= 0);
+        return result;
+    }
+}
@@ -0,0 +1,68 @@
+package cryptography.benchmarks;
+
+import cryptography.DamgardJurikEncryption;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DamgardJurikBenchmark {
+    @Param({"1024", "2048", "3072"})
+    public int keyBits;
+
+    @Param({"1", "2", "4"})
+    public int s;
+
+    private DamgardJurikEncryption damgardJurik;
+    private BigInteger m;
+    private BigInteger r;
+    private BigInteger c;
+
+    @Setup
+    public void setup() {
+        BigInteger[] primes = BenchmarkKeys.paillierPrimes(this.keyBits);
+        this.damgardJurik = new DamgardJurikEncryption(this.s);
+        this.damgardJurik.setFirstPrimeP(primes[0]);
+        this.damgardJurik.setSecondPrimeQ(primes[1]);
+        this.damgardJurik.keyGeneration();
+
+        // selecting a fixed message m from [1, n^s - 1] and random r from [1, n-1]
+        Random random = new Random(BenchmarkKeys.SEED);
+        this.m = BenchmarkKeys.randomBelow(this.damgardJurik.getPublicKey().getPlaintextModulus(), random);
+        this.r = BenchmarkKeys.randomBelow(this.damgardJurik.getCompositeModulusN(), random);
+        this.c = this.damgardJurik.encryption(this.m, this.r);
+    }
+
+    @Benchmark
+    public DamgardJurikEncryption keyGeneration() {
+        this.damgardJurik.keyGeneration();
+        return this.damgardJurik;
+    }
+
+    @Benchmark
+    public BigInteger encryption() {
+        return this.damgardJurik.encryption(this.m, this.r);
+    }
+
+    @Benchmark
+    public BigInteger decryption() {
+        return this.damgardJurik.decryption(this.c);
+    }
+}
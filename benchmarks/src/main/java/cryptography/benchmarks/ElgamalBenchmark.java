@@ -0,0 +1,70 @@
+package cryptography.benchmarks;
+
+import cryptography.ElgamalEncryption;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ElgamalBenchmark {
+    @Param({"1024", "2048", "3072"})
+    public int keyBits;
+
+    @Param({"6"})
+    public int windowSize;
+
+    @Param({"false", "true"})
+    public boolean offHeapTables;
+
+    private ElgamalEncryption elgamal;
+    private BigInteger m;
+    private BigInteger r;
+    private BigInteger[] c;
+
+    @Setup
+    public void setup() {
+        BigInteger p = BenchmarkKeys.elgamalPrime(this.keyBits);
+        this.elgamal = new ElgamalEncryption(p, BigInteger.TWO, this.windowSize, this.offHeapTables);
+        this.elgamal.keyGeneration();
+
+        // selecting a fixed message m and random r from [1, p-1]
+        Random random = new Random(BenchmarkKeys.SEED);
+        this.m = BenchmarkKeys.randomBelow(p, random);
+        this.r = BenchmarkKeys.randomBelow(p, random);
+        this.c = this.elgamal.encryption(this.m, this.r);
+    }
+
+    @Benchmark
+    public ElgamalEncryption keyGeneration() {
+        // key generation includes building the fixed-base tables of g and y
+        this.elgamal.keyGeneration();
+        return this.elgamal;
+    }
+
+    @Benchmark
+    public BigInteger[] encryption() {
+        return this.elgamal.encryption(this.m, this.r);
+    }
+
+    @Benchmark
+    public BigInteger decryption() {
+        return this.elgamal.decryption(this.c);
+    }
+}
@@ -0,0 +1,104 @@
+package cryptography.benchmarks;
+
+import cryptography.CurvePoint;
+import cryptography.EllipticCurve;
+import cryptography.EllipticCurveBabyStepGiantStep;
+import cryptography.EllipticCurveElgamal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EllipticCurveElgamalBenchmark {
+    @Param({"6"})
+    public int windowSize;
+
+    @Param({"32"})
+    public int messageBits;
+
+    @Param({"16", "20"})
+    public int tableBits;
+
+    private EllipticCurveElgamal elgamal;
+    private EllipticCurveBabyStepGiantStep decoder;
+    private CurvePoint m;
+    private BigInteger r;
+    private CurvePoint[] c, d, exponential;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() {
+        EllipticCurve curve = EllipticCurve.P256;
+        this.elgamal = new EllipticCurveElgamal(curve, this.windowSize);
+        this.elgamal.keyGeneration();
+        this.decoder = EllipticCurveBabyStepGiantStep.build(curve, this.messageBits, this.tableBits);
+
+        // selecting a random message point m and random r from [1, n-1]
+        Random random = new Random(BenchmarkKeys.SEED);
+        BigInteger n = curve.getOrder();
+        this.m = curve.getGeneratorTable().multiply(BenchmarkKeys.randomBelow(n, random));
+        this.r = BenchmarkKeys.randomBelow(n, random);
+        this.c = this.elgamal.encryption(this.m, this.r);
+        this.d = this.elgamal.encryption(this.m, BenchmarkKeys.randomBelow(n, random));
+        this.exponential = this.elgamal.exponentialEncryption(new BigInteger(this.messageBits, random), this.r);
+        this.encoded = this.elgamal.encode(this.c);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        this.decoder.close();
+    }
+
+    @Benchmark
+    public EllipticCurveElgamal keyGeneration() {
+        // key generation includes building the fixed-base table of y
+        this.elgamal.keyGeneration();
+        return this.elgamal;
+    }
+
+    @Benchmark
+    public CurvePoint[] encryption() {
+        return this.elgamal.encryption(this.m, this.r);
+    }
+
+    @Benchmark
+    public CurvePoint decryption() {
+        return this.elgamal.decryption(this.c);
+    }
+
+    @Benchmark
+    public CurvePoint[] homomorphicAddition() {
+        return this.elgamal.homomorphicAddition(this.c, this.d);
+    }
+
+    @Benchmark
+    public long exponentialDecryption() {
+        // decryption to m * G followed by the discrete logarithm
+        return this.elgamal.exponentialDecryption(this.exponential, this.decoder);
+    }
+
+    @Benchmark
+    public CurvePoint[] decode() {
+        // decompressing a ciphertext costs two square roots in F_p
+        return this.elgamal.decode(this.encoded);
+    }
+}
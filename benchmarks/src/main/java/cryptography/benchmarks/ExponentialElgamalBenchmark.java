@@ -0,0 +1,92 @@
+package cryptography.benchmarks;
+
+import cryptography.BabyStepGiantStep;
+import cryptography.ElgamalEncryption;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExponentialElgamalBenchmark {
+    // the number of ciphertexts decrypted per invocation, so every invocation averages over many message values
+    private static final int CIPHERTEXTS = 64;
+
+    @Param({"1024", "2048"})
+    public int keyBits;
+
+    @Param({"32"})
+    public int messageBits;
+
+    @Param({"16", "20"})
+    public int tableBits;
+
+    private ElgamalEncryption elgamal;
+    private BabyStepGiantStep decoder;
+    private BigInteger[][] ciphertexts;
+    private BigInteger[] powers;
+
+    @Setup
+    public void setup() {
+        BigInteger p = BenchmarkKeys.elgamalPrime(this.keyBits);
+        this.elgamal = new ElgamalEncryption(p, BigInteger.TWO);
+        this.elgamal.keyGeneration();
+        this.decoder = BabyStepGiantStep.build(p, BigInteger.TWO, this.messageBits, this.tableBits);
+
+        // encrypting random messages below 2^messageBits
+        Random random = new Random(BenchmarkKeys.SEED);
+        this.ciphertexts = new BigInteger[CIPHERTEXTS][];
+        this.powers = new BigInteger[CIPHERTEXTS];
+        for (int i = 0; i < CIPHERTEXTS; i++) {
+            BigInteger m = new BigInteger(this.messageBits, random);
+            this.ciphertexts[i] = this.elgamal.exponentialEncryption(m, BenchmarkKeys.randomBelow(p, random));
+            this.powers[i] = this.elgamal.decryption(this.ciphertexts[i]);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        this.decoder.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CIPHERTEXTS)
+    public long exponentialDecryption() {
+        // decryption to g^m followed by the discrete logarithm
+        long sum = 0;
+        for (BigInteger[] c : this.ciphertexts) {
+            sum += this.elgamal.exponentialDecryption(c, this.decoder);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CIPHERTEXTS)
+    public long discreteLogarithm() {
+        // only the baby-step giant-step part
+        long sum = 0;
+        for (BigInteger power : this.powers) {
+            sum += this.decoder.discreteLogarithm(power);
+        }
+        return sum;
+    }
+}
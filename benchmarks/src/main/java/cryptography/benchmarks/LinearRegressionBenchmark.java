@@ -0,0 +1,66 @@
+package cryptography.benchmarks;
+
+import cryptography.LinearRegressionPaillier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LinearRegressionBenchmark {
+    @Param({"1024", "2048"})
+    public int keyBits;
+
+    @Param({"8", "64", "256"})
+    public int features;
+
+    private LinearRegressionPaillier paillier;
+    private BigInteger encryptedEncodedTheta0;
+    private BigInteger[] encryptedX;
+    private BigInteger[] encodedTheta;
+
+    @Setup
+    public void setup() {
+        BigInteger[] primes = BenchmarkKeys.paillierPrimes(this.keyBits);
+        this.paillier = new LinearRegressionPaillier();
+        this.paillier.setFirstPrimeP(primes[0]);
+        this.paillier.setSecondPrimeQ(primes[1]);
+        this.paillier.keyGeneration();
+
+        // encoding and encrypting random x values and encoding random theta values in [-10, 10)
+        Random random = new Random(BenchmarkKeys.SEED);
+        BigInteger n = this.paillier.getCompositeModulusN();
+        this.encryptedX = new BigInteger[this.features];
+        this.encodedTheta = new BigInteger[this.features + 1];
+        for (int i = 0; i < this.features; i++) {
+            BigInteger encodedX = LinearRegressionPaillier.encoding(random.nextFloat() * 20F - 10F);
+            this.encryptedX[i] = this.paillier.encryption(encodedX, BenchmarkKeys.randomBelow(n, random));
+        }
+        for (int i = 0; i <= this.features; i++) {
+            this.encodedTheta[i] = LinearRegressionPaillier.encoding(random.nextFloat() * 20F - 10F);
+        }
+        this.encryptedEncodedTheta0 = this.paillier.encryption(this.encodedTheta[0], BenchmarkKeys.randomBelow(n, random));
+    }
+
+    @Benchmark
+    public BigInteger evaluation() {
+        // the server-side homomorphic evaluation of Enc(f(θ, x))
+        return this.paillier.evaluation(this.encryptedEncodedTheta0, this.encryptedX, this.encodedTheta);
+    }
+}
@@ -0,0 +1,91 @@
+package cryptography.benchmarks;
+
+import cryptography.EncryptedMatrixVectorProduct;
+import cryptography.FixedPointCodec;
+import cryptography.LinearRegressionPaillier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MatrixVectorBenchmark {
+    @Param({"2048"})
+    public int keyBits;
+
+    @Param({"16", "64"})
+    public int features;
+
+    @Param({"1", "8", "64"})
+    public int models;
+
+    private LinearRegressionPaillier paillier;
+    private EncryptedMatrixVectorProduct product;
+    private FixedPointCodec codec;
+    private BigInteger[] encryptedX;
+    private double[][] theta;
+    private BigInteger[][] encodedTheta;
+    private BigInteger[] encryptedEncodedTheta0;
+
+    @Setup
+    public void setup() {
+        BigInteger[] primes = BenchmarkKeys.paillierPrimes(this.keyBits);
+        this.paillier = new LinearRegressionPaillier();
+        this.paillier.setFirstPrimeP(primes[0]);
+        this.paillier.setSecondPrimeQ(primes[1]);
+        this.paillier.keyGeneration();
+        this.product = new EncryptedMatrixVectorProduct(this.paillier.getPublicKey());
+
+        // one encrypted x shared by all models, every model with its own random theta in [-10, 10)
+        Random random = new Random(BenchmarkKeys.SEED);
+        BigInteger n = this.paillier.getCompositeModulusN();
+        this.codec = new FixedPointCodec(n);
+        this.encryptedX = new BigInteger[this.features];
+        for (int i = 0; i < this.features; i++) {
+            BigInteger encodedX = this.codec.toPlaintext(this.codec.encode(random.nextDouble() * 20 - 10));
+            this.encryptedX[i] = this.paillier.encryption(encodedX, BenchmarkKeys.randomBelow(n, random));
+        }
+        this.theta = new double[this.models][this.features + 1];
+        this.encodedTheta = new BigInteger[this.models][this.features + 1];
+        this.encryptedEncodedTheta0 = new BigInteger[this.models];
+        for (int k = 0; k < this.models; k++) {
+            for (int i = 0; i <= this.features; i++) {
+                this.theta[k][i] = random.nextDouble() * 20 - 10;
+                this.encodedTheta[k][i] = LinearRegressionPaillier.encoding(this.theta[k][i]);
+            }
+            this.encryptedEncodedTheta0[k] = this.paillier.encryption(this.codec.toPlaintext(this.codec.encode(this.theta[k][0])), BenchmarkKeys.randomBelow(n, random));
+        }
+    }
+
+    @Benchmark
+    public BigInteger[] independentEvaluations() {
+        // the baseline, one LinearRegressionPaillier.evaluation per model
+        BigInteger[] results = new BigInteger[this.models];
+        for (int k = 0; k < this.models; k++) {
+            results[k] = this.paillier.evaluation(this.encryptedEncodedTheta0[k], this.encryptedX, this.encodedTheta[k]);
+        }
+        return results;
+    }
+
+    @Benchmark
+    public BigInteger[] matrixVectorProduct() {
+        // all models in one pass over the shared ciphertexts
+        return this.product.evaluate(this.encryptedX, this.theta, this.codec);
+    }
+}
@@ -0,0 +1,62 @@
+package cryptography.benchmarks;
+
+import cryptography.OTPaillier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OTBenchmark {
+    @Param({"1024", "2048", "3072"})
+    public int keyBits;
+
+    private OTPaillier otPaillier;
+    private BigInteger[] xArray;
+    private BigInteger sigma;
+    private BigInteger r;
+    private BigInteger r0;
+    private BigInteger r1;
+
+    @Setup
+    public void setup() {
+        BigInteger[] primes = BenchmarkKeys.paillierPrimes(this.keyBits);
+        this.otPaillier = new OTPaillier();
+        this.otPaillier.setFirstPrimeP(primes[0]);
+        this.otPaillier.setSecondPrimeQ(primes[1]);
+        this.otPaillier.keyGeneration();
+
+        // selecting the sender's messages [x0, x1] and the random values from [1, n-1]
+        Random random = new Random(BenchmarkKeys.SEED);
+        BigInteger n = this.otPaillier.getCompositeModulusN();
+        this.xArray = new BigInteger[]{BenchmarkKeys.randomBelow(n, random), BenchmarkKeys.randomBelow(n, random)};
+        this.sigma = BigInteger.ONE;
+        this.r = BenchmarkKeys.randomBelow(n, random);
+        this.r0 = BenchmarkKeys.randomBelow(n, random);
+        this.r1 = BenchmarkKeys.randomBelow(n, random);
+    }
+
+    @Benchmark
+    public BigInteger round() {
+        // receiver encrypts sigma, sender computes [c0, c1] and the receiver decrypts c_sigma
+        BigInteger encryptedSigma = this.otPaillier.encryption(this.sigma, this.r);
+        BigInteger[] c = this.otPaillier.senderComputation(encryptedSigma, this.xArray, this.r, this.r0, this.r1);
+        return this.otPaillier.decryptionCRT(c[this.sigma.intValue()]);
+    }
+}
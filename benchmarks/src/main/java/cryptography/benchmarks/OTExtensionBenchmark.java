@@ -0,0 +1,67 @@
+package cryptography.benchmarks;
+
+import cryptography.OTExtension;
+import cryptography.OTExtensionReceiver;
+import cryptography.OTExtensionSender;
+import cryptography.PaillierPrivateKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OTExtensionBenchmark {
+    // ops/s of extend is the number of batches per second, multiply by the batch size for OTs per second
+    @Param({"4096", "65536"})
+    public int batch;
+
+    private OTExtensionSender sender;
+    private OTExtensionReceiver receiver;
+    private byte[] choices, x0, x1, y0, y1, output;
+
+    @Setup
+    public void setup() {
+        // the base OTs run once per trial, the benchmark measures the extension only
+        BigInteger[] primes = BenchmarkKeys.paillierPrimes(2048);
+        PaillierPrivateKey privateKey = new PaillierPrivateKey(primes[0], primes[1]);
+        this.sender = new OTExtensionSender(privateKey);
+        this.receiver = new OTExtensionReceiver(privateKey.getPublicKey());
+        this.sender.baseKeys(this.receiver.baseAnswers(this.sender.baseChoices()));
+
+        Random random = new Random(BenchmarkKeys.SEED);
+        this.choices = new byte[this.batch / 8];
+        this.x0 = new byte[this.batch * OTExtension.MESSAGE_BYTES];
+        this.x1 = new byte[this.batch * OTExtension.MESSAGE_BYTES];
+        random.nextBytes(this.choices);
+        random.nextBytes(this.x0);
+        random.nextBytes(this.x1);
+        this.y0 = new byte[this.batch * OTExtension.MESSAGE_BYTES];
+        this.y1 = new byte[this.batch * OTExtension.MESSAGE_BYTES];
+        this.output = new byte[this.batch * OTExtension.MESSAGE_BYTES];
+    }
+
+    @Benchmark
+    public byte[] extend() {
+        // one batch of chosen-message OTs: u from the receiver, y0 and y1 from the sender and the receiver's output
+        this.sender.extend(this.receiver.extend(this.choices, this.batch), this.batch);
+        this.sender.send(this.x0, this.x1, this.y0, this.y1);
+        this.receiver.receive(this.y0, this.y1, this.output);
+        return this.output;
+    }
+}
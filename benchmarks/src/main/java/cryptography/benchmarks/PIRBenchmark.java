@@ -0,0 +1,95 @@
+package cryptography.benchmarks;
+
+import cryptography.ComputationalPIRServer;
+import cryptography.InMemoryPIRDatabase;
+import cryptography.PIRDatabase;
+import cryptography.PaillierPrivateKey;
+import cryptography.PaillierPublicKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PIRBenchmark {
+    @Param({"1024", "2048"})
+    public int keyBits;
+
+    @Param({"64", "256"})
+    public int rows;
+
+    @Param({"64", "256"})
+    public int columns;
+
+    @Param({"32"})
+    public int recordBits;
+
+    @Param({"1"})
+    public int parallelism;
+
+    // a budget of 0 always takes the multi-exponentiation path, anything larger allows per-query fixed-base tables
+    @Param({"0", "67108864"})
+    public long fixedBaseMemoryBudget;
+
+    private ExecutorService executor;
+    private ComputationalPIRServer server;
+    private PIRDatabase database;
+    private BigInteger[] encryptedColumnIndexVector;
+
+    @Setup
+    public void setup() {
+        BigInteger[] primes = BenchmarkKeys.paillierPrimes(this.keyBits);
+        PaillierPublicKey publicKey = new PaillierPrivateKey(primes[0], primes[1]).getPublicKey();
+        Random random = new Random(BenchmarkKeys.SEED);
+
+        // filling the database with random records of recordBits bits
+        BigInteger[][] records = new BigInteger[this.rows][this.columns];
+        for (int i = 0; i < this.rows; i++) {
+            for (int j = 0; j < this.columns; j++) {
+                records[i][j] = new BigInteger(this.recordBits, random);
+            }
+        }
+        this.database = new InMemoryPIRDatabase(records);
+
+        // encrypting the selection vector for a column in the middle of the database
+        BigInteger n = publicKey.getCompositeModulusN();
+        this.encryptedColumnIndexVector = new BigInteger[this.columns];
+        for (int j = 0; j < this.columns; j++) {
+            BigInteger bit = (j == this.columns / 2) ? BigInteger.ONE : BigInteger.ZERO;
+            this.encryptedColumnIndexVector[j] = publicKey.encryption(bit, BenchmarkKeys.randomBelow(n, random));
+        }
+
+        this.executor = Executors.newFixedThreadPool(this.parallelism);
+        this.server = new ComputationalPIRServer(publicKey, this.executor, this.parallelism, this.fixedBaseMemoryBudget);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.executor.shutdown();
+    }
+
+    @Benchmark
+    public BigInteger[] answer() {
+        // one full server pass over the database
+        return this.server.answer(this.database, this.encryptedColumnIndexVector);
+    }
+}
@@ -0,0 +1,71 @@
+package cryptography.benchmarks;
+
+import cryptography.PaillierEncryption;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaillierBenchmark {
+    @Param({"1024", "2048", "3072"})
+    public int keyBits;
+
+    private PaillierEncryption paillier;
+    private BigInteger m;
+    private BigInteger r;
+    private BigInteger c;
+
+    @Setup
+    public void setup() {
+        BigInteger[] primes = BenchmarkKeys.paillierPrimes(this.keyBits);
+        this.paillier = new PaillierEncryption();
+        this.paillier.setFirstPrimeP(primes[0]);
+        this.paillier.setSecondPrimeQ(primes[1]);
+        this.paillier.keyGeneration();
+
+        // selecting a fixed message m and random r from [1, n-1]
+        Random random = new Random(BenchmarkKeys.SEED);
+        BigInteger n = this.paillier.getCompositeModulusN();
+        this.m = BenchmarkKeys.randomBelow(n, random);
+        this.r = BenchmarkKeys.randomBelow(n, random);
+        this.c = this.paillier.encryption(this.m, this.r);
+    }
+
+    @Benchmark
+    public PaillierEncryption keyGeneration() {
+        this.paillier.keyGeneration();
+        return this.paillier;
+    }
+
+    @Benchmark
+    public BigInteger encryption() {
+        return this.paillier.encryption(this.m, this.r);
+    }
+
+    @Benchmark
+    public BigInteger decryption() {
+        return this.paillier.decryption(this.c);
+    }
+
+    @Benchmark
+    public BigInteger decryptionCRT() {
+        return this.paillier.decryptionCRT(this.c);
+    }
+}
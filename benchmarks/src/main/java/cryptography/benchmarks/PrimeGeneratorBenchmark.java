@@ -0,0 +1,60 @@
+package cryptography.benchmarks;
+
+import cryptography.PrimeGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 10)
+@Fork(1)
+public class PrimeGeneratorBenchmark {
+    @Param({"2048", "3072", "4096"})
+    public int keyBits;
+
+    @Param({"1", "4"})
+    public int parallelism;
+
+    private ExecutorService executor;
+    private PrimeGenerator generator;
+
+    @Setup
+    public void setup() {
+        this.executor = Executors.newFixedThreadPool(this.parallelism);
+        this.generator = new PrimeGenerator(this.executor, this.parallelism);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.executor.shutdownNow();
+    }
+
+    @Benchmark
+    public BigInteger[] paillierPrimes() {
+        return this.generator.generatePaillierPrimes(this.keyBits);
+    }
+
+    @Benchmark
+    @Measurement(iterations = 3)
+    public BigInteger[] elgamalGroup() {
+        // safe primes are far rarer than primes, so this takes much longer than the Paillier primes of the same size
+        return this.generator.generateElgamalGroup(this.keyBits);
+    }
+}
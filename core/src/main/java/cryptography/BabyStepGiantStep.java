@@ -0,0 +1,218 @@
+package cryptography;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+public class BabyStepGiantStep implements AutoCloseable {
+    // number of table entries every build task computes before inserting them into the shared table
+    private static final int BLOCK = 1 << 12;
+    // a decoding walks at most 2^MAX_STRIDE_BITS steps, which together with the largest table bounds the messages
+    public static final int MAX_STRIDE_BITS = 30;
+    public static final int MAX_MESSAGE_BITS = DiscreteLogarithmTable.MAX_TABLE_BITS + MAX_STRIDE_BITS;
+
+    // m in [0, 2^messageBits) is written as m = k * stride - s with k in [1, 2^tableBits] and s in [1, stride],
+    // where stride = 2^(messageBits - tableBits), the table holds g^(k * stride) and a decoding walks h * g^s
+    private final BigInteger p, g;
+    private final int messageBits, tableBits, strideBits;
+    private final BarrettReducer reducer;
+    private final DiscreteLogarithmTable table;
+
+    private BabyStepGiantStep(BigInteger p, BigInteger g, int messageBits, int tableBits, DiscreteLogarithmTable table) {
+        this.p = p;
+        this.g = g.mod(p);
+        this.messageBits = messageBits;
+        this.tableBits = tableBits;
+        this.strideBits = messageBits - tableBits;
+        this.reducer = new BarrettReducer(p);
+        this.table = table;
+    }
+
+    public static BabyStepGiantStep build(BigInteger p, BigInteger g, int messageBits, int tableBits) {
+        return build(p, g, messageBits, tableBits, Runnable::run, 1);
+    }
+
+    public static BabyStepGiantStep build(BigInteger p, BigInteger g, int messageBits, int tableBits, Executor executor, int parallelism) {
+        checkBits(messageBits, tableBits);
+        if (parallelism < 1)
+            throw new IllegalArgumentException("parallelism must be positive");
+        DiscreteLogarithmTable table = buildTable(p, g.mod(p), messageBits - tableBits, 1 << tableBits, identity(p, g, messageBits, tableBits), executor, parallelism);
+        return new BabyStepGiantStep(p, g, messageBits, tableBits, table);
+    }
+
+    public static BabyStepGiantStep cached(Path directory, BigInteger p, BigInteger g, int messageBits, int tableBits, Executor executor, int parallelism) throws IOException {
+        // mapping the table of this group, generator and bound if it was stored before, otherwise building and storing it
+        checkBits(messageBits, tableBits);
+        long identity = identity(p, g, messageBits, tableBits);
+        Path path = directory.resolve("bsgs-" + p.bitLength() + "-" + messageBits + "-" + tableBits + "-" + Long.toHexString(identity) + ".table");
+        if (Files.exists(path))
+            return new BabyStepGiantStep(p, g, messageBits, tableBits, DiscreteLogarithmTable.open(path, identity));
+
+        BabyStepGiantStep decoder = build(p, g, messageBits, tableBits, executor, parallelism);
+        decoder.table.save(path);
+        return decoder;
+    }
+
+    public static int defaultTableBits(int messageBits) {
+        // a table entry costs a full multiplication once, while a step of a decoding only multiplies by the small
+        // generator, so the table covers a bit more than half of the bits, capped at 2^22 entries or 48 MB of slots
+        // unless the bound needs more to keep a decoding within 2^MAX_STRIDE_BITS steps
+        return Math.max(messageBits - MAX_STRIDE_BITS, Math.min(messageBits, Math.min(22, (messageBits + 1) / 2 + 4)));
+    }
+
+    private static void checkBits(int messageBits, int tableBits) {
+        DiscreteLogarithmTable.checkSplit(messageBits, tableBits, MAX_STRIDE_BITS);
+    }
+
+    public BigInteger getPrimeP() {
+        return this.p;
+    }
+
+    public BigInteger getGeneratorG() {
+        return this.g;
+    }
+
+    public int getMessageBits() {
+        return this.messageBits;
+    }
+
+    public int getTableBits() {
+        return this.tableBits;
+    }
+
+    public long discreteLogarithm(BigInteger h) {
+        // h = g^m with m = k * stride - s, so h * g^s = g^(k * stride) is found in the table for exactly one s in
+        // [1, stride], each step costs a multiplication by g, which for the usual small generators is a short
+        // multiplication and a reduction by a small quotient, and one table lookup
+        BigInteger target = h.mod(this.p);
+        BigInteger gamma = target;
+        int stride = 1 << this.strideBits;
+        for (int s = 1; s <= stride; s++) {
+            gamma = this.reducer.multiply(gamma, this.g);
+            long fingerprint = gamma.longValue();
+            int k;
+            for (int skip = 0; (k = this.table.get(fingerprint, skip)) >= 0; skip++) {
+                // the fingerprint only covers the low 64 bits, a hit is confirmed before it is returned
+                long m = ((k + 1L) << this.strideBits) - s;
+                if (this.g.modPow(BigInteger.valueOf(m), this.p).equals(target))
+                    return m;
+            }
+        }
+        throw new ArithmeticException("the discrete logarithm is not in [0, 2^" + this.messageBits + ")");
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.table.close();
+    }
+
+    private static DiscreteLogarithmTable buildTable(BigInteger p, BigInteger g, int strideBits, int entries, long identity, Executor executor, int parallelism) {
+        // storing the fingerprint of g^(k * stride) under k - 1 for k in [1, entries], every task walks its own range
+        // of k starting from a single exponentiation and inserts blocks of fingerprints into the shared table
+        DiscreteLogarithmTable table = new DiscreteLogarithmTable(entries, identity);
+        BarrettReducer reducer = new BarrettReducer(p);
+        BigInteger giantStep = g.modPow(BigInteger.ONE.shiftLeft(strideBits), p);
+        int tasks = Math.min(parallelism, entries);
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[tasks];
+        for (int task = 0; task < tasks; task++) {
+            int first = (int) ((long) entries * task / tasks);
+            int last = (int) ((long) entries * (task + 1) / tasks);
+            futures[task] = CompletableFuture.runAsync(() -> {
+                long[] block = new long[Math.min(BLOCK, last - first)];
+                BigInteger power = giantStep.modPow(BigInteger.valueOf(first + 1L), p);
+                for (int index = first; index < last; index += block.length) {
+                    int count = Math.min(block.length, last - index);
+                    for (int c = 0; c < count; c++) {
+                        block[c] = power.longValue();
+                        power = reducer.multiply(power, giantStep);
+                    }
+                    synchronized (table) {
+                        for (int c = 0; c < count; c++) {
+                            table.put(block[c], index + c);
+                        }
+                    }
+                }
+            }, executor);
+        }
+        try {
+            CompletableFuture.allOf(futures).join();
+        }
+        catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw e;
+        }
+        return table;
+    }
+
+    static long identity(BigInteger p, BigInteger g, int messageBits, int tableBits) {
+        // the first 8 bytes of SHA-256 over p, g and the split of the bound name the table and guard its file
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(p.toByteArray());
+            digest.update(g.toByteArray());
+            digest.update((byte) messageBits);
+            digest.update((byte) tableBits);
+            return ByteBuffer.wrap(digest.digest()).getLong();
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 5) {
+            System.out.println("Usage: BabyStepGiantStep <key cache directory> <group bits> <message bits> <table bits> <ciphertexts>");
+            return;
+        }
+        int groupBits = Integer.parseInt(args[1]), messageBits = Integer.parseInt(args[2]), tableBits = Integer.parseInt(args[3]);
+        int count = Integer.parseInt(args[4]);
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        Path directory = Paths.get(args[0]);
+        BigInteger[] group = new KeyCache(directory, new PrimeGenerator(ForkJoinPool.commonPool(), parallelism)).elgamalGroup(groupBits);
+
+        System.out.println();
+        System.out.println("---------- Giant-step table (2^" + tableBits + " entries, " + groupBits + " bit group) ----------");
+        long start = System.nanoTime();
+        try (BabyStepGiantStep decoder = cached(directory, group[0], group[1], messageBits, tableBits, ForkJoinPool.commonPool(), parallelism)) {
+            System.out.println("Loaded or built in " + (System.nanoTime() - start) / 1_000_000 + " ms using " + parallelism + " threads");
+            System.out.println();
+
+            // encrypting random counters below 2^messageBits and decrypting every one of them
+            ElgamalEncryption elgamal = new ElgamalEncryption(group[0], group[1]);
+            elgamal.keyGeneration();
+            long[] messages = new long[count];
+            BigInteger[][] ciphertexts = new BigInteger[count][];
+            for (int i = 0; i < count; i++) {
+                messages[i] = RandomSource.current().nextLong() >>> (64 - messageBits);
+                BigInteger r = RandomSource.uniform(BigInteger.ONE, group[0].subtract(BigInteger.ONE));
+                ciphertexts[i] = elgamal.exponentialEncryption(BigInteger.valueOf(messages[i]), r);
+            }
+
+            System.out.println("---------- Decrypting " + count + " ciphertexts of " + messageBits + " bit messages ----------");
+            long decryptNanos = 0, logarithmNanos = 0, failures = 0;
+            for (int i = 0; i < count; i++) {
+                long t0 = System.nanoTime();
+                BigInteger power = elgamal.decryption(ciphertexts[i]);
+                long t1 = System.nanoTime();
+                long m = decoder.discreteLogarithm(power);
+                logarithmNanos += System.nanoTime() - t1;
+                decryptNanos += t1 - t0;
+                if (m != messages[i])
+                    failures++;
+            }
+            System.out.printf("ElGamal decryption to g^m: %.3f ms per ciphertext%n", decryptNanos / 1e6 / count);
+            System.out.printf("Baby-step giant-step:      %.3f ms per ciphertext (%d steps at most)%n", logarithmNanos / 1e6 / count, 1L << decoder.strideBits);
+            System.out.println(failures + " wrong messages");
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package cryptography;
+
+import java.math.BigInteger;
+
+public final class BarrettReducer {
+    private final BigInteger modulus, mu;
+    private final int k;
+
+    public BarrettReducer(BigInteger modulus) {
+        if (modulus.signum() <= 0)
+            throw new IllegalArgumentException("modulus must be positive");
+        this.modulus = modulus;
+        this.k = modulus.bitLength();
+        // precomputing mu = floor(2^(2k) / modulus) once so that reductions only need multiplications and shifts
+        this.mu = BigInteger.ONE.shiftLeft(2 * this.k).divide(modulus);
+    }
+
+    public BigInteger getModulus() {
+        return this.modulus;
+    }
+
+    public BigInteger reduce(BigInteger x) {
+        // values outside of [0, modulus^2) are reduced through a regular division
+        if (x.signum() < 0 || x.bitLength() > 2 * this.k)
+            return x.mod(this.modulus);
+
+        // estimating the quotient q = floor(floor(x / 2^(k-1)) * mu / 2^(k+1)) which is at most 2 below the true quotient
+        BigInteger q = (x.shiftRight(this.k - 1).multiply(this.mu)).shiftRight(this.k + 1);
+        BigInteger r = x.subtract(q.multiply(this.modulus));
+        while (r.compareTo(this.modulus) >= 0) {
+            r = r.subtract(this.modulus);
+        }
+
+        return r;
+    }
+
+    public BigInteger multiply(BigInteger a, BigInteger b) {
+        // calculating (a * b) mod modulus for a and b already reduced
+        return this.reduce(a.multiply(b));
+    }
+}
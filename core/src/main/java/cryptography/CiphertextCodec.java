@@ -0,0 +1,130 @@
+package cryptography;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+public final class CiphertextCodec {
+    // every ciphertext is written as a fixed width big-endian integer of width bytes, left padded with zeros
+    private final BigInteger modulus;
+    private final int width;
+
+    public CiphertextCodec(BigInteger modulus) {
+        if (modulus.signum() <= 0)
+            throw new IllegalArgumentException("modulus must be positive");
+        this.modulus = modulus;
+        this.width = (modulus.bitLength() + 7) / 8;
+    }
+
+    public static CiphertextCodec forPaillier(PaillierPublicKey publicKey) {
+        // Paillier ciphertexts live in Z_(n^2)
+        return new CiphertextCodec(publicKey.getCompositeModulusNSquared());
+    }
+
+    public static CiphertextCodec forDamgardJurik(DamgardJurikPublicKey publicKey) {
+        // Damgard-Jurik ciphertexts live in Z_(n^(s+1))
+        return new CiphertextCodec(publicKey.getCiphertextModulus());
+    }
+
+    public static CiphertextCodec forElgamal(BigInteger p) {
+        // both halves of an ElGamal ciphertext (c1, c2) live in Z_p
+        return new CiphertextCodec(p);
+    }
+
+    public BigInteger getModulus() {
+        return this.modulus;
+    }
+
+    public int getWidth() {
+        return this.width;
+    }
+
+    public int vectorBytes(int length) {
+        // a four byte length prefix followed by length ciphertexts, which has to fit in a single byte array
+        if (length < 0)
+            throw new IllegalArgumentException("length must not be negative");
+        try {
+            return Math.addExact(4, Math.multiplyExact(length, this.width));
+        }
+        catch (ArithmeticException e) {
+            throw new IllegalArgumentException(length + " ciphertexts of " + this.width + " bytes do not fit in a single buffer", e);
+        }
+    }
+
+    public void encode(BigInteger ciphertext, ByteBuffer output) {
+        if (ciphertext.signum() < 0 || ciphertext.compareTo(this.modulus) >= 0)
+            throw new IllegalArgumentException("ciphertext is outside of [0, modulus)");
+        byte[] bytes = ciphertext.toByteArray();
+        // toByteArray may carry one leading sign byte which is dropped here
+        int length = Math.min(bytes.length, this.width);
+        for (int k = 0; k < this.width - length; k++) {
+            output.put((byte) 0);
+        }
+        output.put(bytes, bytes.length - length, length);
+    }
+
+    public BigInteger decode(ByteBuffer input) {
+        byte[] bytes = new byte[this.width];
+        input.get(bytes);
+        BigInteger ciphertext = new BigInteger(1, bytes);
+        if (ciphertext.compareTo(this.modulus) >= 0)
+            throw new IllegalArgumentException("decoded ciphertext is outside of [0, modulus)");
+        return ciphertext;
+    }
+
+    public void encodeVector(BigInteger[] ciphertexts, ByteBuffer output) {
+        output.putInt(ciphertexts.length);
+        for (BigInteger ciphertext : ciphertexts) {
+            this.encode(ciphertext, output);
+        }
+    }
+
+    public ByteBuffer encodeVector(BigInteger[] ciphertexts) {
+        ByteBuffer output = ByteBuffer.allocate(this.vectorBytes(ciphertexts.length));
+        this.encodeVector(ciphertexts, output);
+        return output.flip();
+    }
+
+    public BigInteger[] decodeVector(ByteBuffer input) {
+        int length = input.getInt();
+        if (length < 0 || (long) length * this.width > input.remaining())
+            throw new BufferUnderflowException();
+        BigInteger[] ciphertexts = new BigInteger[length];
+        for (int i = 0; i < length; i++) {
+            ciphertexts[i] = this.decode(input);
+        }
+        return ciphertexts;
+    }
+
+    public void encodePair(BigInteger[] ciphertext, ByteBuffer output) {
+        // an ElGamal ciphertext (c1, c2) is written as the two halves back to back without a length prefix
+        if (ciphertext.length != 2)
+            throw new IllegalArgumentException("expected a (c1, c2) pair but got " + ciphertext.length + " values");
+        this.encode(ciphertext[0], output);
+        this.encode(ciphertext[1], output);
+    }
+
+    public BigInteger[] decodePair(ByteBuffer input) {
+        return new BigInteger[]{this.decode(input), this.decode(input)};
+    }
+
+    public static BigInteger readBigInteger(DataInputStream input, int maxLength) throws IOException {
+        // a length prefixed big-endian integer as used by the socket protocol and the key and result files,
+        // the length is checked before anything is allocated for it, as it may come straight from a peer
+        int length = input.readInt();
+        if (length < 1 || length > maxLength)
+            throw new IOException("invalid integer length " + length);
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new BigInteger(1, bytes);
+    }
+
+    public static void writeBigInteger(DataOutputStream output, BigInteger value) throws IOException {
+        byte[] bytes = value.toByteArray();
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+}
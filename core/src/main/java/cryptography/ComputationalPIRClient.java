@@ -0,0 +1,51 @@
+package cryptography;
+
+import java.math.BigInteger;
+
+public class ComputationalPIRClient {
+    private final PaillierPrivateKey privateKey;
+    private final PaillierNoncePool noncePool;
+
+    public ComputationalPIRClient(PaillierPrivateKey privateKey, PaillierNoncePool noncePool) {
+        this.privateKey = privateKey;
+        this.noncePool = noncePool;
+    }
+
+    public PaillierPublicKey getPublicKey() {
+        return this.privateKey.getPublicKey();
+    }
+
+    public BigInteger[] selectionVector(int index, int length) {
+        if (index < 0 || index >= length)
+            throw new IllegalArgumentException("index " + index + " is outside of [0, " + length + ")");
+
+        // each value is set to zero except the index which the client wants to access which is set to one
+        // in addition, each value in the vector array is then encrypted with its own random r
+        BigInteger[] encryptedIndexVector = new BigInteger[length];
+        for (int i = 0; i < length; i++) {
+            BigInteger m = i == index ? BigInteger.ONE : BigInteger.ZERO;
+            encryptedIndexVector[i] = this.getPublicKey().encryption(m, this.noncePool.take());
+        }
+        return encryptedIndexVector;
+    }
+
+    public BigInteger decodeAnswer(BigInteger[] encryptedAnswer, int row) {
+        // the answer of row s is Enc(database[s][t])
+        return this.privateKey.decryptionCRT(encryptedAnswer[row]);
+    }
+
+    public long decodePackedAnswer(BigInteger[] encryptedAnswer, int row, PIRRecordPacker packer, int column) {
+        // the query selected packed column packer.packedColumn(column), the record sits in slot packer.slot(column)
+        return packer.unpackSlot(this.decodeAnswer(encryptedAnswer, row), packer.slot(column));
+    }
+
+    public BigInteger decodeRecursiveAnswer(BigInteger[] encryptedChunks) {
+        // the server sends Enc(a mod n) and Enc(a / n) where a = Enc(database[s][t]) is the first level answer of row s
+        BigInteger n = this.getPublicKey().getCompositeModulusN();
+        BigInteger low = this.privateKey.decryptionCRT(encryptedChunks[0]);
+        BigInteger high = this.privateKey.decryptionCRT(encryptedChunks[1]);
+
+        // rebuilding the first level answer a = high * n + low and decrypting it
+        return this.privateKey.decryptionCRT(high.multiply(n).add(low));
+    }
+}
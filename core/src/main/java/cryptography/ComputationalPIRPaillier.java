@@ -1,10 +1,15 @@
+package cryptography;
+
 import java.math.BigInteger;
-import java.util.Random;
 import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
 
 public class ComputationalPIRPaillier {
 
-    private BigInteger p, q, n, g, lambda;
+    private BigInteger p, q;
+    // the key pair derived from p and q at key generation, shared with other Paillier classes through get/setPrivateKey
+    private PaillierPrivateKey privateKey;
+
     public void setFirstPrimeP(BigInteger p) {
         this.p = p;
     }
@@ -13,16 +18,10 @@ public class ComputationalPIRPaillier {
         this.q = q;
     }
 
-    public void setCompositeModulusN(BigInteger n) {
-        this.n = n;
-    }
-
-    public void setEncryptionExponentLambda(BigInteger lambda) {
-        this.lambda = lambda;
-    }
-
-    public void setGeneratorG(BigInteger g) {
-        this.g = g;
+    public void setPrivateKey(PaillierPrivateKey privateKey) {
+        this.privateKey = privateKey;
+        this.p = privateKey.getFirstPrimeP();
+        this.q = privateKey.getSecondPrimeQ();
     }
 
     public BigInteger getFirstPrimeP() {
@@ -33,80 +32,49 @@ public class ComputationalPIRPaillier {
         return q;
     }
 
-    public BigInteger getCompositeModulusN() {
-        return this.n;
+    public PaillierPrivateKey getPrivateKey() {
+        return this.privateKey;
     }
 
-    public BigInteger getEncryptionExponentLambda() {
-        return this.lambda;
+    public PaillierPublicKey getPublicKey() {
+        return this.privateKey.getPublicKey();
     }
 
-    public BigInteger getGeneratorG() {
-        return this.g;
+    public BigInteger getCompositeModulusN() {
+        return this.getPublicKey().getCompositeModulusN();
     }
 
-    public BigInteger generateRandomBigIntegerNumber(BigInteger lowerLimit, BigInteger upperLimit) {
-        BigInteger range = upperLimit.subtract(lowerLimit);
-        Random randomVariable = new Random();
-        int lengthOfRandomNumber = upperLimit.bitLength();
-        BigInteger result = new BigInteger(lengthOfRandomNumber, randomVariable);
-        if (result.compareTo(lowerLimit) < 0)
-            result = result.add(lowerLimit);
-        if (result.compareTo(range) >= 0)
-            result = result.mod(range).add(lowerLimit);
+    public BigInteger getEncryptionExponentLambda() {
+        return this.privateKey.getEncryptionExponentLambda();
+    }
 
-        return result;
+    public BigInteger getGeneratorG() {
+        return this.getPublicKey().getGeneratorG();
     }
 
     public void keyGeneration() {
-        // calculating n = p * q
-        this.setCompositeModulusN(this.p.multiply(this.q));
-
-        // calculating lambda = LCM(p-1, q-1)
-        // setting num1 = p - 1 and num2 = q - 1
-        BigInteger num1 = this.p.subtract(BigInteger.ONE);
-        BigInteger num2 = this.q.subtract(BigInteger.ONE);
-
-        // calculating GCD of num1 and num2
-        BigInteger gcd = num1.gcd(num2);
-
-        // set lambda through the LCM formula
-        // LCM * GCD = num1 * num2
-        // LCM = (num1 * num2) / GCD
-        this.setEncryptionExponentLambda((num1.multiply(num2)).divide(gcd));
-
-        // setting g = n + 1
-        this.setGeneratorG(this.n.add(BigInteger.ONE));
+        // calculating n = p * q, lambda = LCM(p-1, q-1), g = n + 1 and the values cached for decryption
+        this.privateKey = new PaillierPrivateKey(this.p, this.q);
     }
 
     public BigInteger encryption(BigInteger m, BigInteger r) {
-        // get the values of g and n
-        BigInteger g = this.getGeneratorG();
-        BigInteger n = this.getCompositeModulusN();
-
         // calculating ciphertext c = (g^m * r^n) mod n^2
-        BigInteger c = ((g.modPow(m, n.multiply(n))).multiply(r.modPow(n, n.multiply(n)))).mod(n.multiply(n));
+        return this.getPublicKey().encryption(m, r);
+    }
 
-        return c;
+    public BigInteger encryption(BigInteger m, PaillierNonce nonce) {
+        // calculating ciphertext c = (g^m * r^n) mod n^2 with a precomputed r^n mod n^2
+        return this.getPublicKey().encryption(m, nonce);
     }
 
     public BigInteger decryption(BigInteger c) {
-        // get the values of g and n
-        BigInteger g = this.getGeneratorG();
-        BigInteger n = this.getCompositeModulusN();
-        // get the value of lambda
-        BigInteger lambda = this.getEncryptionExponentLambda();
-
-        // calculating S = L(c^lambda mod n^2) where L(x) = (x-1)/n
-        BigInteger S = ((c.modPow(lambda, n.multiply(n)).subtract(BigInteger.ONE)).divide(n)).mod(n);
-
-        // calculating modular multiplicative inverse mu = (L(g^lambda mod n2))^(-1) mod n
-        BigInteger mu = ((g.modPow(lambda, n.multiply(n)).subtract(BigInteger.ONE)).divide(n)).modPow(BigInteger.valueOf(-1), n);
-
-        // calculating the decrypted plaintext md = (S * mu) mod n
-        BigInteger md = (S.multiply(mu)).mod(n);
+        // calculating the decrypted plaintext md = (L(c^lambda mod n^2) * mu) mod n
+        return this.privateKey.decryption(c);
+    }
 
-        return md;
+    public BigInteger decryptionCRT(BigInteger c) {
+        // calculating the decrypted plaintext md through CRT over p^2 and q^2
+        return this.privateKey.decryptionCRT(c);
     }
 
     public static void main(String[] args) {
@@ -143,7 +111,7 @@ public class ComputationalPIRPaillier {
                 database[i][j] = (BigInteger.valueOf(i).add(BigInteger.ONE)).multiply(BigInteger.valueOf(j).add(BigInteger.ONE));
 
                 // generating random values to be stored in the database where each value is in message space N between [0, N-1]
-//                database[i][j] = computationalPIRPaillier.generateRandomBigIntegerNumber(BigInteger.ZERO, compositeModulusN.subtract(BigInteger.ONE));
+//                database[i][j] = RandomSource.uniform(BigInteger.ZERO, compositeModulusN.subtract(BigInteger.ONE));
             }
         }
         System.out.println("---------- Database of size 200x200 generated ----------");
@@ -162,25 +130,22 @@ public class ComputationalPIRPaillier {
 
         // Encryption
         System.out.println("-------------------- Encryption --------------------");
-        // generating a random number r between [1, N-1]
-        BigInteger r = computationalPIRPaillier.generateRandomBigIntegerNumber(BigInteger.ONE, compositeModulusN.subtract(BigInteger.ONE));
-        System.out.println("The random number is r = " + r);
+        // starting a pool of worker threads which precompute fresh (r, r^n mod n^2) pairs so that
+        // every ciphertext of the query gets its own random r
+        PaillierNoncePool noncePool = new PaillierNoncePool(computationalPIRPaillier.getPublicKey(), 256, 64, Runtime.getRuntime().availableProcessors());
 
         System.out.println();
 
         // generating the encrypted column index vector which the user wants to access
         System.out.println("---------- Generating Encrypted Column Vector ----------");
-        BigInteger[] encryptedColumnIndexVector = new BigInteger[200];
-        for(int i=0 ; i<200 ; i++) {
-            // each value is set to zero except the column index which the client wants to access which is set to one
-            // in addition, each value in the vector array is then encrypted using Paillier Encryption
-            if(i!=t) {
-                encryptedColumnIndexVector[i] = computationalPIRPaillier.encryption(BigInteger.ZERO, r);
-            }
-            else {
-                encryptedColumnIndexVector[i] = computationalPIRPaillier.encryption(BigInteger.ONE, r);
-            }
-        }
+        // each value is set to zero except the column index which the client wants to access which is set to one
+        // in addition, each value in the vector array is then encrypted using Paillier Encryption
+        ComputationalPIRClient client = new ComputationalPIRClient(computationalPIRPaillier.getPrivateKey(), noncePool);
+        BigInteger[] encryptedColumnIndexVector = client.selectionVector(t, 200);
+        // the encrypted row index vector is only used by the recursive mode below
+        BigInteger[] encryptedRowIndexVector = client.selectionVector(s, 200);
+        noncePool.close();
+        System.out.println("Nonce pool hits = " + noncePool.getHits() + ", misses = " + noncePool.getMisses());
         System.out.println("---------- Encrypted Column Vector generated ----------");
 
         System.out.println();
@@ -188,20 +153,18 @@ public class ComputationalPIRPaillier {
         // performing the server side computation by using homomorphic properties of Paillier Encryption
         System.out.println("---------- Server Side Computation ----------");
         System.out.println("---------- Please wait while server is computing ----------");
-        BigInteger[] encryptedAnswer = new BigInteger[200];
-        for(int i=0 ; i<200 ; i++) {
-            encryptedAnswer[i] = BigInteger.ONE;
-            for(int j=0 ; j<200 ; j++) {
-                encryptedAnswer[i] = encryptedAnswer[i].multiply(encryptedColumnIndexVector[j].modPow(database[i][j], compositeModulusN.multiply(compositeModulusN)));
-            }
-        }
+        // each row i is answered with Enc(database[i][t]) = product over j of encryptedColumnIndexVector[j]^database[i][j] mod n^2
+        // which the server evaluates as a single multi-exponentiation per row, spreading the rows over all cores
+        // and allowing up to 64 MB of fixed-base tables per query when they are cheaper for the database shape
+        ComputationalPIRServer server = new ComputationalPIRServer(computationalPIRPaillier.getPublicKey(), ForkJoinPool.commonPool(), Runtime.getRuntime().availableProcessors(), 64L << 20);
+        BigInteger[] encryptedAnswer = server.answer(database, encryptedColumnIndexVector);
         System.out.println("---------- Finished Server Side Computation ----------");
 
         System.out.println();
 
         System.out.println("-------------------- Decryption --------------------");
         // decrypting ciphertext back to plaintext to get the value
-        BigInteger databaseDecryptedValue = computationalPIRPaillier.decryption(encryptedAnswer[s]);
+        BigInteger databaseDecryptedValue = client.decodeAnswer(encryptedAnswer, s);
         System.out.println("Decrypted database value for index (s=" + s + ",t=" + t + "): " + databaseDecryptedValue);
 
         // checking correctness of the above computation
@@ -212,5 +175,26 @@ public class ComputationalPIRPaillier {
             System.out.println("Paillier Computational PIR access unsuccessful");
         }
 
+        System.out.println();
+
+        // in the recursive mode the server also folds the 200 row answers with the encrypted row index vector
+        // and returns only two ciphertexts instead of one per row
+        System.out.println("---------- Recursive Server Side Computation ----------");
+        System.out.println("---------- Please wait while server is computing ----------");
+        BigInteger[] encryptedChunks = server.answerRecursive(new InMemoryPIRDatabase(database), encryptedColumnIndexVector, encryptedRowIndexVector);
+        System.out.println("---------- Finished Recursive Server Side Computation, response has " + encryptedChunks.length + " ciphertexts ----------");
+
+        System.out.println();
+
+        System.out.println("-------------------- Recursive Decryption --------------------");
+        BigInteger recursiveDecryptedValue = client.decodeRecursiveAnswer(encryptedChunks);
+        System.out.println("Decrypted database value for index (s=" + s + ",t=" + t + "): " + recursiveDecryptedValue);
+        if(recursiveDecryptedValue.equals(database[s][t])) {
+            System.out.println("Recursive Paillier Computational PIR access successful");
+        }
+        else {
+            System.out.println("Recursive Paillier Computational PIR access unsuccessful");
+        }
+
     }
 }
@@ -0,0 +1,228 @@
+package cryptography;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.IntConsumer;
+
+public class ComputationalPIRServer {
+    private final PaillierPublicKey publicKey;
+    private final MultiExponentiation multiExponentiation;
+    // the executor running the tiles of a query and the maximum number of tiles of one query running at the same time
+    private final Executor executor;
+    private final int parallelism;
+    // the memory a query may spend on fixed-base tables of its column ciphertexts, zero disables them
+    private final long fixedBaseMemoryBudget;
+    // the number of neighbouring rows answerBatch hands to one task at a time
+    private static final int BATCH_ROW_TILE = 16;
+
+    public ComputationalPIRServer(PaillierPublicKey publicKey) {
+        this(publicKey, Runnable::run, 1);
+    }
+
+    public ComputationalPIRServer(PaillierPublicKey publicKey, Executor executor, int parallelism) {
+        this(publicKey, executor, parallelism, 0);
+    }
+
+    public ComputationalPIRServer(PaillierPublicKey publicKey, Executor executor, int parallelism, long fixedBaseMemoryBudget) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("parallelism must be positive");
+        if (fixedBaseMemoryBudget < 0)
+            throw new IllegalArgumentException("fixedBaseMemoryBudget must not be negative");
+        this.publicKey = publicKey;
+        this.multiExponentiation = new MultiExponentiation(publicKey.getCompositeModulusNSquared());
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.fixedBaseMemoryBudget = fixedBaseMemoryBudget;
+    }
+
+    public PaillierPublicKey getPublicKey() {
+        return this.publicKey;
+    }
+
+    public int getParallelism() {
+        return this.parallelism;
+    }
+
+    public long getFixedBaseMemoryBudget() {
+        return this.fixedBaseMemoryBudget;
+    }
+
+    public BigInteger[] answer(BigInteger[][] database, BigInteger[] encryptedColumnIndexVector) {
+        return this.answer(new InMemoryPIRDatabase(database), encryptedColumnIndexVector);
+    }
+
+    public BigInteger[] answer(PIRDatabase database, BigInteger[] encryptedColumnIndexVector) {
+        if (database.getColumnCount() != encryptedColumnIndexVector.length)
+            throw new IllegalArgumentException("database has " + database.getColumnCount() + " columns but the query has " + encryptedColumnIndexVector.length);
+
+        // the query ciphertexts are reduced once here so that every row can use them as they are
+        BigInteger[] bases = new BigInteger[encryptedColumnIndexVector.length];
+        for (int j = 0; j < bases.length; j++) {
+            bases[j] = encryptedColumnIndexVector[j].mod(this.publicKey.getCompositeModulusNSquared());
+        }
+
+        int rows = database.getRowCount();
+        int columns = bases.length;
+
+        // for tall databases it pays to build a fixed-base table per column ciphertext once and
+        // evaluate every row from the tables instead of running a full multi-exponentiation per row
+        int windowSize = this.chooseFixedBaseWindowSize(rows, columns, database.getMaxRecordBits());
+        FixedBaseExponentiation[] tables = null;
+        if (windowSize > 0) {
+            FixedBaseExponentiation[] columnTables = new FixedBaseExponentiation[columns];
+            this.runTasks(columns, j -> columnTables[j] = new FixedBaseExponentiation(bases[j], this.publicKey.getCompositeModulusNSquared(), database.getMaxRecordBits(), windowSize, false));
+            tables = columnTables;
+        }
+        FixedBaseExponentiation[] rowTables = tables;
+
+        // splitting every row into column tiles when there are fewer rows than workers so that all workers get a share
+        int columnTiles = rows == 0 ? 1 : Math.max(1, Math.min(columns, this.parallelism / rows));
+        BigInteger[] partialAnswer = new BigInteger[rows * columnTiles];
+
+        // every tile writes only to its own slot of partialAnswer so the output does not depend on the scheduling
+        this.runTasks(partialAnswer.length, tile -> {
+            int i = tile / columnTiles, k = tile % columnTiles;
+            int from = (int) ((long) columns * k / columnTiles);
+            int to = (int) ((long) columns * (k + 1) / columnTiles);
+            partialAnswer[tile] = rowTables != null
+                    ? database.fixedBaseExponentiateRow(rowTables, i, from, to)
+                    : database.multiExponentiateRow(this.multiExponentiation, bases, i, from, to);
+        });
+
+        // multiplying the column tiles of every row back together in row order
+        BigInteger[] encryptedAnswer = new BigInteger[rows];
+        for (int i = 0; i < rows; i++) {
+            encryptedAnswer[i] = partialAnswer[i * columnTiles];
+            for (int k = 1; k < columnTiles; k++) {
+                encryptedAnswer[i] = this.publicKey.homomorphicAddition(encryptedAnswer[i], partialAnswer[i * columnTiles + k]);
+            }
+        }
+        return encryptedAnswer;
+    }
+
+    public List<BigInteger[]> answerBatch(PIRDatabase database, List<BigInteger[]> encryptedColumnIndexVectors) {
+        int rows = database.getRowCount();
+        int columns = database.getColumnCount();
+        int queries = encryptedColumnIndexVectors.size();
+
+        // the query ciphertexts are reduced once here so that every row can use them as they are
+        BigInteger[][] bases = new BigInteger[queries][];
+        for (int q = 0; q < queries; q++) {
+            BigInteger[] query = encryptedColumnIndexVectors.get(q);
+            if (query.length != columns)
+                throw new IllegalArgumentException("database has " + columns + " columns but query " + q + " has " + query.length);
+            bases[q] = new BigInteger[columns];
+            for (int j = 0; j < columns; j++) {
+                bases[q][j] = query[j].mod(this.publicKey.getCompositeModulusNSquared());
+            }
+        }
+
+        // walking the database once in tiles of neighbouring rows and applying every row to all queries of the batch
+        // while its records are still in cache, instead of scanning the whole database once per query
+        BigInteger[][] encryptedAnswers = new BigInteger[queries][rows];
+        int tiles = (rows + BATCH_ROW_TILE - 1) / BATCH_ROW_TILE;
+        this.runTasks(tiles, tile -> {
+            int lastRow = Math.min(rows, (tile + 1) * BATCH_ROW_TILE);
+            for (int i = tile * BATCH_ROW_TILE; i < lastRow; i++) {
+                for (int q = 0; q < queries; q++) {
+                    encryptedAnswers[q][i] = database.multiExponentiateRow(this.multiExponentiation, bases[q], i, 0, columns);
+                }
+            }
+        });
+
+        return Arrays.asList(encryptedAnswers);
+    }
+
+    int chooseFixedBaseWindowSize(int rows, int columns, int recordBits) {
+        if (this.fixedBaseMemoryBudget == 0 || rows == 0 || columns == 0 || recordBits == 0)
+            return 0;
+
+        // the multi-exponentiation costs about ceil(bits / c) * (columns + 2^(c+1)) + bits multiplications per row
+        int c = MultiExponentiation.chooseWindowSize(columns, recordBits);
+        long multiExponentiationCost = (long) rows * ((long) ((recordBits + c - 1) / c) * (columns + (2L << c)) + recordBits);
+
+        // fixed-base tables with window w cost columns * ceil(bits / w) * 2^w multiplications to build
+        // and columns * ceil(bits / w) multiplications per row, picking the cheapest window that fits the budget
+        int best = 0;
+        long bestCost = multiExponentiationCost;
+        for (int w = 1; w <= 12; w++) {
+            long tableBytes = columns * FixedBaseExponentiation.tableBytes(recordBits, w, this.publicKey.getCompositeModulusNSquared());
+            if (tableBytes > this.fixedBaseMemoryBudget)
+                break;
+            long windows = (recordBits + w - 1) / w;
+            long cost = columns * windows * (1L << w) + (long) rows * columns * windows;
+            if (cost < bestCost) {
+                bestCost = cost;
+                best = w;
+            }
+        }
+        return best;
+    }
+
+    private void runTasks(int count, IntConsumer body) {
+        if (this.parallelism == 1 || count <= 1) {
+            for (int index = 0; index < count; index++) {
+                body.accept(index);
+            }
+            return;
+        }
+
+        // handing [0, count) out to at most parallelism tasks of neighbouring indices
+        int tasks = Math.min(this.parallelism, count);
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[tasks];
+        for (int task = 0; task < tasks; task++) {
+            int first = (int) ((long) count * task / tasks);
+            int last = (int) ((long) count * (task + 1) / tasks);
+            futures[task] = CompletableFuture.runAsync(() -> {
+                for (int index = first; index < last; index++) {
+                    body.accept(index);
+                }
+            }, this.executor);
+        }
+        try {
+            CompletableFuture.allOf(futures).join();
+        }
+        catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw e;
+        }
+    }
+
+    public BigInteger[] answerRecursive(PIRDatabase database, BigInteger[] encryptedColumnIndexVector, BigInteger[] encryptedRowIndexVector) {
+        if (database.getRowCount() != encryptedRowIndexVector.length)
+            throw new IllegalArgumentException("database has " + database.getRowCount() + " rows but the row selector has " + encryptedRowIndexVector.length);
+
+        // first level: Enc(database[i][t]) for every row i
+        BigInteger[] encryptedAnswer = this.answer(database, encryptedColumnIndexVector);
+
+        // splitting every first level answer a_i < n^2 into the two plaintext sized chunks a_i mod n and a_i / n
+        BigInteger n = this.publicKey.getCompositeModulusN();
+        BigInteger[] lowChunks = new BigInteger[encryptedAnswer.length];
+        BigInteger[] highChunks = new BigInteger[encryptedAnswer.length];
+        for (int i = 0; i < encryptedAnswer.length; i++) {
+            BigInteger[] quotientAndRemainder = encryptedAnswer[i].divideAndRemainder(n);
+            highChunks[i] = quotientAndRemainder[0];
+            lowChunks[i] = quotientAndRemainder[1];
+        }
+
+        // second level: folding the rows with the client's encrypted row selector so that only the two chunks of row s are returned
+        // Enc(chunk_s) = product over i of Enc(e_i)^chunk_i mod n^2
+        return new BigInteger[]{
+                this.multiExponentiation.compute(encryptedRowIndexVector, lowChunks),
+                this.multiExponentiation.compute(encryptedRowIndexVector, highChunks)
+        };
+    }
+
+    public BigInteger answerRow(BigInteger[] row, BigInteger[] encryptedColumnIndexVector) {
+        if (row.length != encryptedColumnIndexVector.length)
+            throw new IllegalArgumentException("database row has " + row.length + " columns but the query has " + encryptedColumnIndexVector.length);
+
+        // calculating Enc(row[t]) = product over j of Enc(e_j)^row[j] mod n^2 where e is the client's selection vector
+        return this.multiExponentiation.compute(encryptedColumnIndexVector, row);
+    }
+}
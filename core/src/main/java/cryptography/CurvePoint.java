@@ -0,0 +1,51 @@
+package cryptography;
+
+import java.math.BigInteger;
+import java.util.Objects;
+
+public final class CurvePoint {
+    // the point at infinity, the neutral element of the group, has no coordinates
+    public static final CurvePoint INFINITY = new CurvePoint();
+
+    // affine coordinates (x, y), points handed out by EllipticCurve are always reduced mod p and on the curve
+    private final BigInteger x, y;
+
+    private CurvePoint() {
+        this.x = null;
+        this.y = null;
+    }
+
+    public CurvePoint(BigInteger x, BigInteger y) {
+        this.x = Objects.requireNonNull(x);
+        this.y = Objects.requireNonNull(y);
+    }
+
+    public boolean isInfinity() {
+        return this.x == null;
+    }
+
+    public BigInteger getX() {
+        return this.x;
+    }
+
+    public BigInteger getY() {
+        return this.y;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof CurvePoint point))
+            return false;
+        return Objects.equals(this.x, point.x) && Objects.equals(this.y, point.y);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.x, this.y);
+    }
+
+    @Override
+    public String toString() {
+        return this.isInfinity() ? "(infinity)" : "(" + this.x.toString(16) + ", " + this.y.toString(16) + ")";
+    }
+}
@@ -0,0 +1,128 @@
+package cryptography;
+
+import java.math.BigInteger;
+
+public class DamgardJurikEncryption {
+    private BigInteger p, q;
+    // the plaintext space is Z_(n^s) and the ciphertext space Z_(n^(s+1))
+    private final int s;
+    private DamgardJurikPrivateKey privateKey;
+
+    public DamgardJurikEncryption(int s) {
+        if (s < 1)
+            throw new IllegalArgumentException("s must be at least 1");
+        this.s = s;
+    }
+
+    public void setFirstPrimeP(BigInteger p) {
+        this.p = p;
+    }
+
+    public void setSecondPrimeQ(BigInteger q) {
+        this.q = q;
+    }
+
+    public BigInteger getFirstPrimeP() {
+        return this.p;
+    }
+
+    public BigInteger getSecondPrimeQ() {
+        return this.q;
+    }
+
+    public int getS() {
+        return this.s;
+    }
+
+    public DamgardJurikPrivateKey getPrivateKey() {
+        return this.privateKey;
+    }
+
+    public DamgardJurikPublicKey getPublicKey() {
+        return this.privateKey.getPublicKey();
+    }
+
+    public BigInteger getCompositeModulusN() {
+        return this.getPublicKey().getCompositeModulusN();
+    }
+
+    public void keyGeneration() {
+        // calculating n = p * q, lambda = LCM(p-1, q-1), g = n + 1 and the values cached for decryption
+        this.privateKey = new DamgardJurikPrivateKey(this.p, this.q, this.s);
+    }
+
+    public void keyGeneration(int modulusBits, PrimeGenerator generator) {
+        // generating fresh primes p and q for a modulus n of modulusBits bits instead of using the ones that were set
+        BigInteger[] primes = generator.generatePaillierPrimes(modulusBits);
+        this.p = primes[0];
+        this.q = primes[1];
+        this.keyGeneration();
+    }
+
+    public BigInteger encryption(BigInteger m, BigInteger r) {
+        // calculating ciphertext c = (g^m * r^(n^s)) mod n^(s+1)
+        return this.getPublicKey().encryption(m, r);
+    }
+
+    public BigInteger decryption(BigInteger c) {
+        // calculating the decrypted plaintext md = (extraction of c^lambda mod n^(s+1)) * lambda^(-1) mod n^s
+        return this.privateKey.decryption(c);
+    }
+
+    public BigInteger homomorphicAddition(BigInteger c1, BigInteger c2) {
+        return this.getPublicKey().homomorphicAddition(c1, c2);
+    }
+
+    public BigInteger homomorphicScalarMultiplication(BigInteger c, BigInteger k) {
+        return this.getPublicKey().homomorphicScalarMultiplication(c, k);
+    }
+
+    public static void main(String[] args) {
+        // s = 3 by default, so ciphertexts are 4/3 of the plaintext size instead of twice as for Paillier
+        int s = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        DamgardJurikEncryption damgardJurik = new DamgardJurikEncryption(s);
+
+        // Setting primes p and q
+        System.out.println();
+        System.out.println("---------- Setting random prime numbers p and q ----------");
+        damgardJurik.setFirstPrimeP(new BigInteger("91384202109071442293463836021112242872202112556997233738650771115304627068435244189452217404518350934650625169787645878831492249234702966702870665364147218752886578786376766042770107058123323172961898496290467790495229761191517699758387645314555098976305458147233083947409856486295027584628343852346198294834673398056518565970306137057662042381108071850367597403128086501769091999204250111973206216989075174484334959172281822465253170809350903328437985069427319"));
+        damgardJurik.setSecondPrimeQ(new BigInteger("81461618609951926714232486073323681843605711813586129469089521881286578240351609211470308250561781558375310490543983933780038328473513066035201591085583608631590043360965785867067725207262314428957973642440166838678305658012018727393737744349209249924848069061992265051686526452564260097993214532057415090837113730859560081637862504223208931316591467688041729971515846931082731879867661935144206080893902297595573259652166808407688180529379028374251689469303983"));
+        System.out.println("The first prime p = " + damgardJurik.getFirstPrimeP());
+        System.out.println("The second prime q = " + damgardJurik.getSecondPrimeQ());
+        System.out.println();
+
+        // Key Generation
+        System.out.println("-------------------- Key Generation --------------------");
+        damgardJurik.keyGeneration();
+        DamgardJurikPublicKey publicKey = damgardJurik.getPublicKey();
+        System.out.println("The composite modulus is n = " + publicKey.getCompositeModulusN());
+        System.out.println("s = " + s + ", plaintext bits = " + publicKey.getPlaintextModulus().bitLength() + ", ciphertext bits = " + publicKey.getCiphertextModulus().bitLength());
+        System.out.printf("The ciphertext expansion ratio is %.3f (Paillier: 2.000)%n", publicKey.getExpansionRatio());
+        System.out.println();
+
+        // Encryption
+        System.out.println("-------------------- Encryption --------------------");
+        // generating random messages m1 and m2 between [1, n^s - 1] and random numbers r1 and r2 between [1, n-1]
+        BigInteger m1 = RandomSource.uniform(BigInteger.ONE, publicKey.getPlaintextModulus().subtract(BigInteger.ONE));
+        BigInteger m2 = RandomSource.uniform(BigInteger.ONE, publicKey.getPlaintextModulus().subtract(BigInteger.ONE));
+        BigInteger c1 = damgardJurik.encryption(m1, RandomSource.uniform(BigInteger.ONE, publicKey.getCompositeModulusN().subtract(BigInteger.ONE)));
+        BigInteger c2 = damgardJurik.encryption(m2, RandomSource.uniform(BigInteger.ONE, publicKey.getCompositeModulusN().subtract(BigInteger.ONE)));
+        System.out.println("Plaintext m1 = " + m1);
+        System.out.println("Ciphertext c1 = " + c1);
+        System.out.println();
+
+        System.out.println("-------------------- Decryption --------------------");
+        BigInteger md = damgardJurik.decryption(c1);
+        System.out.println("Decrypted plaintext is m1 = " + md);
+        System.out.println(m1.equals(md) ? "Decryption was successful" : "Decryption was unsuccessful");
+        System.out.println();
+
+        System.out.println("-------------------- Homomorphic operations --------------------");
+        // Dec(c1 * c2) = m1 + m2 mod n^s and Dec(c1^k) = k * m1 mod n^s
+        BigInteger sum = damgardJurik.decryption(damgardJurik.homomorphicAddition(c1, c2));
+        System.out.println(sum.equals(m1.add(m2).mod(publicKey.getPlaintextModulus())) ? "Homomorphic addition was successful" : "Homomorphic addition was unsuccessful");
+        BigInteger k = BigInteger.valueOf(-7);
+        BigInteger product = damgardJurik.decryption(damgardJurik.homomorphicScalarMultiplication(c1, k));
+        System.out.println(product.equals(m1.multiply(k).mod(publicKey.getPlaintextModulus())) ? "Homomorphic scalar multiplication was successful" : "Homomorphic scalar multiplication was unsuccessful");
+    }
+}
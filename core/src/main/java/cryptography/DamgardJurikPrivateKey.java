@@ -0,0 +1,88 @@
+package cryptography;
+
+import java.math.BigInteger;
+
+public final class DamgardJurikPrivateKey {
+    private final DamgardJurikPublicKey publicKey;
+    private final BigInteger p, q, lambda, mu;
+    // CRT constants for calculating c^lambda mod n^(s+1) through p^(s+1) and q^(s+1)
+    private final BigInteger pToTheSPlusOne, qToTheSPlusOne, pToTheSPlusOneInverse;
+    // factorialInverses[k] = (k!)^(-1) mod n^s for k in [0, s], used by the extraction of the plaintext
+    private final BigInteger[] factorialInverses;
+
+    public DamgardJurikPrivateKey(BigInteger p, BigInteger q, int s) {
+        this.p = p;
+        this.q = q;
+
+        // calculating n = p * q
+        BigInteger n = p.multiply(q);
+        this.publicKey = new DamgardJurikPublicKey(n, s);
+        BigInteger nToTheS = this.publicKey.getPlaintextModulus();
+
+        // calculating lambda = LCM(p-1, q-1)
+        BigInteger pMinusOne = p.subtract(BigInteger.ONE);
+        BigInteger qMinusOne = q.subtract(BigInteger.ONE);
+        this.lambda = (pMinusOne.multiply(qMinusOne)).divide(pMinusOne.gcd(qMinusOne));
+
+        // calculating mu = lambda^(-1) mod n^s, since c^lambda decrypts to lambda * m mod n^s
+        this.mu = this.lambda.modInverse(nToTheS);
+
+        this.pToTheSPlusOne = p.pow(s + 1);
+        this.qToTheSPlusOne = q.pow(s + 1);
+        this.pToTheSPlusOneInverse = this.pToTheSPlusOne.modInverse(this.qToTheSPlusOne);
+
+        this.factorialInverses = new BigInteger[s + 1];
+        BigInteger factorial = BigInteger.ONE;
+        for (int k = 0; k <= s; k++) {
+            if (k > 0)
+                factorial = factorial.multiply(BigInteger.valueOf(k));
+            this.factorialInverses[k] = factorial.modInverse(nToTheS);
+        }
+    }
+
+    public DamgardJurikPublicKey getPublicKey() {
+        return this.publicKey;
+    }
+
+    public BigInteger getFirstPrimeP() {
+        return this.p;
+    }
+
+    public BigInteger getSecondPrimeQ() {
+        return this.q;
+    }
+
+    public BigInteger getEncryptionExponentLambda() {
+        return this.lambda;
+    }
+
+    public BigInteger decryption(BigInteger c) {
+        // calculating a = c^lambda mod n^(s+1) = (1 + n)^(lambda * m mod n^s) through CRT over p^(s+1) and q^(s+1)
+        BigInteger ap = c.mod(this.pToTheSPlusOne).modPow(this.lambda, this.pToTheSPlusOne);
+        BigInteger aq = c.mod(this.qToTheSPlusOne).modPow(this.lambda, this.qToTheSPlusOne);
+        BigInteger a = ap.add(((aq.subtract(ap)).multiply(this.pToTheSPlusOneInverse)).mod(this.qToTheSPlusOne).multiply(this.pToTheSPlusOne));
+
+        // calculating the decrypted plaintext md = (lambda * m) * lambda^(-1) mod n^s
+        return (this.extraction(a).multiply(this.mu)).mod(this.publicKey.getPlaintextModulus());
+    }
+
+    private BigInteger extraction(BigInteger a) {
+        // recovering i from a = (1 + n)^i mod n^(s+1) one power of n at a time, where at step j
+        // L(a mod n^(j+1)) = i + C(i, 2) n + ... + C(i, j) n^(j-1) mod n^j with L(x) = (x-1)/n
+        // and the terms C(i, k) n^(k-1) are removed using i mod n^(j-1) from the previous step
+        BigInteger n = this.publicKey.getCompositeModulusN();
+        BigInteger i = BigInteger.ZERO;
+        for (int j = 1; j <= this.publicKey.getS(); j++) {
+            BigInteger nToTheJ = this.publicKey.getCompositeModulusNToThe(j);
+            BigInteger t1 = (a.mod(this.publicKey.getCompositeModulusNToThe(j + 1)).subtract(BigInteger.ONE)).divide(n);
+            BigInteger t2 = i;
+            for (int k = 2; k <= j; k++) {
+                i = i.subtract(BigInteger.ONE);
+                t2 = (t2.multiply(i)).mod(nToTheJ);
+                t1 = t1.subtract(t2.multiply(this.publicKey.getCompositeModulusNToThe(k - 1)).multiply(this.factorialInverses[k]));
+            }
+            i = t1.mod(nToTheJ);
+        }
+        return i;
+    }
+}
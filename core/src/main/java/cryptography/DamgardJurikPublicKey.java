@@ -0,0 +1,102 @@
+package cryptography;
+
+import java.math.BigInteger;
+
+public final class DamgardJurikPublicKey {
+    // the composite modulus n, the plaintext modulus n^s, the ciphertext modulus n^(s+1) and the generator g = n + 1
+    private final BigInteger n, nToTheS, nToTheSPlusOne, g;
+    private final int s;
+    // nPowers[j] = n^j for j in [0, s+1], used by the binomial expansion of g^m
+    private final BigInteger[] nPowers;
+
+    public DamgardJurikPublicKey(BigInteger n, int s) {
+        if (s < 1)
+            throw new IllegalArgumentException("s must be at least 1");
+        this.n = n;
+        this.s = s;
+        this.nPowers = new BigInteger[s + 2];
+        this.nPowers[0] = BigInteger.ONE;
+        for (int j = 1; j <= s + 1; j++) {
+            this.nPowers[j] = this.nPowers[j - 1].multiply(n);
+        }
+        this.nToTheS = this.nPowers[s];
+        this.nToTheSPlusOne = this.nPowers[s + 1];
+        this.g = n.add(BigInteger.ONE);
+    }
+
+    public BigInteger getCompositeModulusN() {
+        return this.n;
+    }
+
+    public int getS() {
+        return this.s;
+    }
+
+    public BigInteger getPlaintextModulus() {
+        return this.nToTheS;
+    }
+
+    public BigInteger getCiphertextModulus() {
+        return this.nToTheSPlusOne;
+    }
+
+    public BigInteger getGeneratorG() {
+        return this.g;
+    }
+
+    BigInteger getCompositeModulusNToThe(int j) {
+        return this.nPowers[j];
+    }
+
+    public double getExpansionRatio() {
+        // ciphertext bits per plaintext bit, (s+1)/s instead of 2 for Paillier
+        return (double) this.nToTheSPlusOne.bitLength() / this.nToTheS.bitLength();
+    }
+
+    public BigInteger generatorPower(BigInteger m) {
+        // calculating g^m mod n^(s+1) = (1 + n)^m = sum over k in [0, s] of C(m, k) * n^k mod n^(s+1)
+        // as n^k vanishes for k > s, which needs s small multiplications instead of a modular exponentiation
+        m = m.mod(this.nToTheS);
+        BigInteger result = BigInteger.ONE;
+        BigInteger numerator = BigInteger.ONE;
+        BigInteger factorial = BigInteger.ONE;
+        for (int k = 1; k <= this.s; k++) {
+            // C(m, k) = m * (m-1) * ... * (m-k+1) / k!, only needed mod n^(s+1-k) as it gets multiplied by n^k
+            numerator = numerator.multiply(m.subtract(BigInteger.valueOf(k - 1)));
+            factorial = factorial.multiply(BigInteger.valueOf(k));
+            BigInteger binomial = numerator.divide(factorial).mod(this.nPowers[this.s + 1 - k]);
+            result = result.add(binomial.multiply(this.nPowers[k]));
+        }
+        return result.mod(this.nToTheSPlusOne);
+    }
+
+    public BigInteger randomizer(BigInteger r) {
+        // calculating r^(n^s) mod n^(s+1), which can be precomputed independently of the message
+        return r.modPow(this.nToTheS, this.nToTheSPlusOne);
+    }
+
+    public BigInteger encryption(BigInteger m, BigInteger r) {
+        // calculating ciphertext c = (g^m * r^(n^s)) mod n^(s+1)
+        return this.encryptionWithRandomizer(m, this.randomizer(r));
+    }
+
+    public BigInteger encryptionWithRandomizer(BigInteger m, BigInteger rToTheNS) {
+        // calculating ciphertext c = (g^m * r^(n^s)) mod n^(s+1) with r^(n^s) mod n^(s+1) precomputed
+        return (this.generatorPower(m).multiply(rToTheNS)).mod(this.nToTheSPlusOne);
+    }
+
+    public BigInteger homomorphicAddition(BigInteger c1, BigInteger c2) {
+        // Enc(m1) * Enc(m2) mod n^(s+1) = Enc(m1 + m2 mod n^s)
+        return (c1.multiply(c2)).mod(this.nToTheSPlusOne);
+    }
+
+    public BigInteger homomorphicScalarMultiplication(BigInteger c, BigInteger k) {
+        // Enc(m)^k mod n^(s+1) = Enc(k * m mod n^s), a negative k inverts the ciphertext
+        return c.modPow(k, this.nToTheSPlusOne);
+    }
+
+    public BigInteger rerandomization(BigInteger c, BigInteger r) {
+        // Enc(m) * r^(n^s) mod n^(s+1) is a fresh encryption of the same m
+        return (c.multiply(this.randomizer(r))).mod(this.nToTheSPlusOne);
+    }
+}
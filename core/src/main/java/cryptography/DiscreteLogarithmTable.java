@@ -0,0 +1,168 @@
+package cryptography;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+public final class DiscreteLogarithmTable implements AutoCloseable {
+    // file layout: magic, version, entries and capacity as big-endian ints and the identity of the group, generator
+    // and table size as a long, followed by the capacity slots exactly as they are laid out in memory
+    static final int MAGIC = 0x444C4F47, VERSION = 1, HEADER_BYTES = 24;
+    // a slot is a 64 bit fingerprint of a group element followed by its value + 1, where 0 marks an empty slot
+    static final int SLOT_BYTES = 12;
+    // at most half of the slots are used and the slots have to fit in a single direct or mapped buffer
+    public static final int MAX_TABLE_BITS = 26;
+    public static final int MAX_ENTRIES = 1 << MAX_TABLE_BITS;
+
+    private final ByteBuffer slots;
+    private final FileChannel channel;
+    private final int entries, capacity, shift;
+    private final long identity;
+    // number of slots filled while the table is built
+    private int size;
+
+    public DiscreteLogarithmTable(int entries, long identity) {
+        // open addressing with linear probing in a direct buffer, so millions of entries cost no objects
+        // and the garbage collector never has to scan them
+        this(ByteBuffer.allocateDirect(capacityFor(entries) * SLOT_BYTES), null, entries, identity);
+    }
+
+    private DiscreteLogarithmTable(ByteBuffer slots, FileChannel channel, int entries, long identity) {
+        this.slots = slots;
+        this.channel = channel;
+        this.entries = entries;
+        this.capacity = slots.capacity() / SLOT_BYTES;
+        this.shift = 64 - Integer.numberOfTrailingZeros(this.capacity);
+        this.identity = identity;
+    }
+
+    static int capacityFor(int entries) {
+        if (entries < 1 || entries > MAX_ENTRIES)
+            throw new IllegalArgumentException("entries must be in [1, " + MAX_ENTRIES + "]");
+        // the smallest power of two keeping the load factor at or below one half
+        return Integer.highestOneBit(entries - 1 | 1) << 2;
+    }
+
+    static void checkSplit(int messageBits, int tableBits, int maxStrideBits) {
+        // a baby-step giant-step decoder covers 2^messageBits with 2^tableBits entries and up to 2^(messageBits - tableBits)
+        // steps per decoding, both counts are compared as bit lengths so that no shift can wrap around
+        int maxMessageBits = MAX_TABLE_BITS + maxStrideBits;
+        if (messageBits < 1 || messageBits > maxMessageBits)
+            throw new IllegalArgumentException("messageBits must be in [1, " + maxMessageBits + "]");
+        if (tableBits < Math.max(0, messageBits - maxStrideBits) || tableBits > Math.min(messageBits, MAX_TABLE_BITS))
+            throw new IllegalArgumentException("tableBits must be in [max(0, messageBits - " + maxStrideBits + "), min(messageBits, " + MAX_TABLE_BITS + ")]");
+    }
+
+    public int getEntries() {
+        return this.entries;
+    }
+
+    public long getIdentity() {
+        return this.identity;
+    }
+
+    public void put(long fingerprint, int value) {
+        // two different group elements may share a fingerprint, so equal fingerprints are not merged and get
+        // enumerates all of them
+        if (value < 0 || value == Integer.MAX_VALUE)
+            throw new IllegalArgumentException("value must be in [0, " + (Integer.MAX_VALUE - 1) + "]");
+        if (this.channel != null)
+            throw new IllegalStateException("a mapped table is read only");
+        if (this.size == this.entries)
+            throw new IllegalStateException("the table already holds " + this.entries + " entries");
+        int slot = this.slot(fingerprint);
+        while (this.slots.getInt(slot * SLOT_BYTES + 8) != 0) {
+            slot = (slot + 1) & (this.capacity - 1);
+        }
+        this.slots.putLong(slot * SLOT_BYTES, fingerprint);
+        this.slots.putInt(slot * SLOT_BYTES + 8, value + 1);
+        this.size++;
+    }
+
+    public int get(long fingerprint) {
+        return this.get(fingerprint, 0);
+    }
+
+    public int get(long fingerprint, int skip) {
+        // returns the value of the skip-th entry with this fingerprint or -1, probing until the first empty slot
+        for (int slot = this.slot(fingerprint); ; slot = (slot + 1) & (this.capacity - 1)) {
+            int position = slot * SLOT_BYTES;
+            int stored = this.slots.getInt(position + 8);
+            if (stored == 0)
+                return -1;
+            if (this.slots.getLong(position) == fingerprint && skip-- == 0)
+                return stored - 1;
+        }
+    }
+
+    private int slot(long fingerprint) {
+        // Fibonacci hashing spreads fingerprints with structured low bits over the whole table
+        return (int) ((fingerprint * 0x9E3779B97F4A7C15L) >>> this.shift);
+    }
+
+    public void save(Path path) throws IOException {
+        // writing to a temporary file first and moving it into place, so a reader never maps a partial table
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel output = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                header.putInt(MAGIC).putInt(VERSION).putInt(this.entries).putInt(this.capacity).putLong(this.identity).flip();
+                while (header.hasRemaining()) {
+                    output.write(header);
+                }
+                ByteBuffer body = this.slots.duplicate().clear();
+                while (body.hasRemaining()) {
+                    output.write(body);
+                }
+            }
+            Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+        finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    public static DiscreteLogarithmTable open(Path path, long identity) throws IOException {
+        // mapping the slots read only, the operating system pages them in on demand and shares them between processes
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0)
+                    throw new IOException(path + " is too short to be a discrete logarithm table");
+            }
+            header.flip();
+            if (header.getInt() != MAGIC)
+                throw new IOException(path + " is not a discrete logarithm table");
+            int version = header.getInt();
+            if (version != VERSION)
+                throw new IOException(path + " has unsupported version " + version);
+            int entries = header.getInt(), capacity = header.getInt();
+            if (header.getLong() != identity)
+                throw new IOException(path + " was built for a different group, generator or bound");
+            if (entries < 1 || entries > MAX_ENTRIES || capacity != capacityFor(entries))
+                throw new IOException(path + " has an invalid header");
+            long expectedSize = HEADER_BYTES + (long) capacity * SLOT_BYTES;
+            if (channel.size() != expectedSize)
+                throw new IOException(path + " has " + channel.size() + " bytes but its header describes " + expectedSize);
+
+            return new DiscreteLogarithmTable(channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, (long) capacity * SLOT_BYTES), channel, entries, identity);
+        }
+        catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.channel != null)
+            this.channel.close();
+    }
+}
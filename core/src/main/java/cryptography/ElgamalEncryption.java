@@ -0,0 +1,231 @@
+package cryptography;
+
+import java.math.BigInteger;
+import java.util.concurrent.ForkJoinPool;
+
+public class ElgamalEncryption {
+    private BigInteger p, g, x, y;
+    // fixed-base tables for g and y built at key generation and reused by every encryption
+    private final int windowSize;
+    private final boolean offHeapTables;
+    private FixedBaseExponentiation gTable, yTable;
+
+    public ElgamalEncryption() {
+        // the group is generated by keyGeneration(bits, generator)
+        this(null, null);
+    }
+
+    public ElgamalEncryption(BigInteger p, BigInteger g) {
+        this(p, g, 6, false);
+    }
+
+    public ElgamalEncryption(BigInteger p, BigInteger g, int windowSize, boolean offHeapTables) {
+        this.p = p;
+        this.g = g;
+        this.windowSize = windowSize;
+        this.offHeapTables = offHeapTables;
+    }
+
+    public BigInteger getSecretKey() {
+        return this.x;
+    }
+
+    public BigInteger getPublicKey() {
+        return this.y;
+    }
+
+    public BigInteger getPrimeP() {
+        return this.p;
+    }
+
+    public BigInteger getGeneratorG() {
+        return this.g;
+    }
+
+    public void keyGeneration() {
+        // randomly select the secret key from [1, p-1]
+        this.x = RandomSource.uniform(BigInteger.ONE, this.p.subtract(BigInteger.ONE));
+
+        // calculate y
+        this.y = this.g.modPow(this.x, this.p);
+
+        // precompute the fixed-base tables of g and y for exponents r in [1, p-1]
+        this.gTable = new FixedBaseExponentiation(this.g, this.p, this.p.bitLength(), this.windowSize, this.offHeapTables);
+        this.yTable = new FixedBaseExponentiation(this.y, this.p, this.p.bitLength(), this.windowSize, this.offHeapTables);
+    }
+
+    public void keyGeneration(int bits, PrimeGenerator generator) {
+        // generating a fresh safe prime p = 2q + 1 of bits bits and a generator g of the subgroup of order q instead of
+        // using the ones that were set
+        BigInteger[] group = generator.generateElgamalGroup(bits);
+        this.p = group[0];
+        this.g = group[1];
+        this.keyGeneration();
+    }
+
+    public BigInteger[] encryption(BigInteger m, BigInteger r) {
+        // calculate ciphertext c1 = g^r mod p
+        BigInteger c1 = this.gTable.modPow(r);
+
+        // calculate ciphertext c2 = (m * y^r) mod p
+        BigInteger c2 = (m.multiply(this.yTable.modPow(r))).mod(this.p);
+
+        return new BigInteger[]{c1, c2};
+    }
+
+    public BigInteger decryption(BigInteger[] c) {
+        // calculate t = c1^(-x) = c1^(p-1-x) mod p, which needs no modular inverse
+        BigInteger t = c[0].modPow(this.p.subtract(BigInteger.ONE).subtract(this.x), this.p);
+
+        // calculate decrypted message md = (c2 * t) mod p
+        BigInteger md = (c[1].multiply(t)).mod(this.p);
+
+        return md;
+    }
+
+    public BigInteger[] exponentialEncryption(BigInteger m, BigInteger r) {
+        // exponential ElGamal encrypts g^m instead of m, so multiplying ciphertexts adds the messages
+        if (m.signum() < 0)
+            throw new IllegalArgumentException("m must not be negative");
+        return this.encryption(this.gTable.modPow(m), r);
+    }
+
+    public long exponentialDecryption(BigInteger[] c, BabyStepGiantStep decoder) {
+        // decrypting to g^m and recovering m by baby-step giant-step, m has to be below the bound of the decoder
+        if (!decoder.getPrimeP().equals(this.p) || !decoder.getGeneratorG().equals(this.g))
+            throw new IllegalArgumentException("the decoder was built for a different group or generator");
+        return decoder.discreteLogarithm(this.decryption(c));
+    }
+
+    public BigInteger[] homomorphicMultiplication(BigInteger[] c, BigInteger[] d) {
+        // (c1 * d1, c2 * d2) encrypts m * m' in the plain mode and m + m' in the exponential mode
+        return new BigInteger[]{c[0].multiply(d[0]).mod(this.p), c[1].multiply(d[1]).mod(this.p)};
+    }
+
+    public static void main(String[] args) {
+
+        // Initializing an object of ElgamalEncryption class
+        ElgamalEncryption elgamal = new ElgamalEncryption();
+
+        // Key Generation with a random safe prime p and a generator g of its subgroup of quadratic residues
+        int bits = args.length > 0 ? Integer.parseInt(args[0]) : 1024;
+        System.out.println();
+        System.out.println("-------------------- Key Generation --------------------");
+        elgamal.keyGeneration(bits, new PrimeGenerator(ForkJoinPool.commonPool(), Runtime.getRuntime().availableProcessors()));
+        BigInteger p = elgamal.getPrimeP();
+        BigInteger g = elgamal.getGeneratorG();
+
+        System.out.println("The safe prime is p = " + p);
+        System.out.println("The value of g = " + g);
+        System.out.println("The secret key x = " + elgamal.getSecretKey());
+        System.out.println("The public key y = " + elgamal.getPublicKey());
+
+        System.out.println();
+
+        // Encryption
+        System.out.println("-------------------- Encryption --------------------");
+        // generating a random message m between [1, p-1]
+        BigInteger m = RandomSource.uniform(BigInteger.ONE, p.subtract(BigInteger.ONE));
+        System.out.println("Plaintext (randomly generate) to be encrypted is m = " + m);
+        // generating a random number r between [1, p-1]
+        BigInteger r = RandomSource.uniform(BigInteger.ONE, p.subtract(BigInteger.ONE));
+        System.out.println("The random number is r = " + r);
+        // Generating ciphertexts c1 and c2 through encryption
+        BigInteger[] c = elgamal.encryption(m, r);
+        System.out.println("Ciphertext is c = (c1, c2) = (" + c[0] + ", " + c[1] + ")");
+
+        System.out.println();
+
+        System.out.println("-------------------- Decryption --------------------");
+        // Decrypting ciphertext back to plaintext message m
+        System.out.println("Ciphertext to be decrypted is c = (c1, c2) = (" + c[0] + ", " + c[1] + ")");
+        BigInteger md = elgamal.decryption(c);
+        System.out.println("Decrypted plaintext is m = " + md);
+        System.out.println();
+
+        if(m.equals(md)) {
+            System.out.println("Decryption was successful");
+        }
+        else {
+            System.out.println("Decryption was unsuccessful");
+        }
+
+        System.out.println();
+        System.out.println("----------------------------------------------------");
+        System.out.println();
+
+        // verifying multiplicative homomorphic property of elgamal encryption
+        System.out.println("---------- Elgamal Homomorphic Encryption ----------");
+        // setting messages m1 and m2
+        System.out.println("---------- Setting two messages m1 and m2 ----------");
+        BigInteger m1 = new BigInteger("1000");
+        BigInteger m2 = new BigInteger("2000");
+        System.out.println("Message m1 is = " + m1);
+        System.out.println("Message m2 is = " + m2);
+        System.out.println();
+
+        // generating random messages r1 and r2 from prime p
+        BigInteger r1 = RandomSource.uniform(BigInteger.ONE, p.subtract(BigInteger.ONE));
+        BigInteger r2 = RandomSource.uniform(BigInteger.ONE, p.subtract(BigInteger.ONE));
+        System.out.println("Random r1 is = " + r1);
+        System.out.println("Random r2 is = " + r2);
+        System.out.println();
+
+        // generating ciphertexts for c and c' for m1 and m2 respectively
+        BigInteger[] ciphertext1 = elgamal.encryption(m1, r1);
+        BigInteger[] ciphertext2 = elgamal.encryption(m2, r2);
+        System.out.println("Ciphertext pair for message m1 is c = (c1, c2) = (" + ciphertext1[0] + ", " + ciphertext1[1] + ")");
+        System.out.println("Ciphertext pair for message m2 is c' = (c1', c2') = (" + ciphertext2[0] + ", " + ciphertext2[1] + ")");
+        System.out.println();
+
+        // multiplying both ciphertexts (c1) of both messages
+        BigInteger mulCiphertextsC1 = (ciphertext1[0].multiply(ciphertext2[0])).mod(p);
+        System.out.println("Multiplied ciphertext value c1*c1' is : " + mulCiphertextsC1);
+
+        // multiplying both ciphertexts (c2) of both messages
+        BigInteger mulCiphertextsC2 = (ciphertext1[1].multiply(ciphertext2[1])).mod(p);
+        System.out.println("Multiplied ciphertext value c2*c2' is : " + mulCiphertextsC2);
+
+        // Multiplied ciphertext pair (C1, C2)
+        System.out.println("Ciphertext pair for multiplied message m1*m2 is = (C1, C2) = (" + mulCiphertextsC1 + ", " + mulCiphertextsC2 + ")");
+        System.out.println();
+
+        // decrypting the multiplied ciphertext value
+        BigInteger Md = elgamal.decryption(new BigInteger[]{mulCiphertextsC1, mulCiphertextsC2});
+        System.out.println("Decrypted message for multiplied m1*m2 is = " + Md);
+        System.out.println();
+
+        // verifying the multiplicative homomorphic property of elgamal encryption
+        if (Md.equals(m1.multiply(m2))) {
+            System.out.println("Elgamal Encryption is Multiplicative Homomorphic");
+        }
+        else {
+            System.out.println("Elgamal Encryption is not Multiplicative Homomorphic");
+        }
+        System.out.println();
+
+        // verifying the additive homomorphic property of exponential elgamal encryption
+        System.out.println("---------- Exponential Elgamal Homomorphic Encryption ----------");
+        // building the baby-step table for messages below 2^32 with 2^16 baby steps
+        BabyStepGiantStep decoder = BabyStepGiantStep.build(p, g, 32, 16);
+        BigInteger[] exponentialCiphertext1 = elgamal.exponentialEncryption(m1, r1);
+        BigInteger[] exponentialCiphertext2 = elgamal.exponentialEncryption(m2, r2);
+        System.out.println("Ciphertext pair for g^m1 is c = (c1, c2) = (" + exponentialCiphertext1[0] + ", " + exponentialCiphertext1[1] + ")");
+        System.out.println("Ciphertext pair for g^m2 is c' = (c1', c2') = (" + exponentialCiphertext2[0] + ", " + exponentialCiphertext2[1] + ")");
+        System.out.println();
+
+        // multiplying the ciphertexts of g^m1 and g^m2 gives a ciphertext of g^(m1+m2)
+        BigInteger[] sumCiphertext = elgamal.homomorphicMultiplication(exponentialCiphertext1, exponentialCiphertext2);
+        long sum = elgamal.exponentialDecryption(sumCiphertext, decoder);
+        System.out.println("Decrypted message for added m1+m2 is = " + sum);
+        System.out.println();
+
+        if (BigInteger.valueOf(sum).equals(m1.add(m2))) {
+            System.out.println("Exponential Elgamal Encryption is Additive Homomorphic");
+        }
+        else {
+            System.out.println("Exponential Elgamal Encryption is not Additive Homomorphic");
+        }
+
+    }
+}
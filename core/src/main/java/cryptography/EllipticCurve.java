@@ -0,0 +1,307 @@
+package cryptography;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+public final class EllipticCurve {
+    // NIST P-256 (secp256r1) from FIPS 186-4, y^2 = x^3 - 3x + b over F_p with a generator G of prime order n
+    public static final EllipticCurve P256 = new EllipticCurve("P-256",
+            new BigInteger("ffffffff00000001000000000000000000000000ffffffffffffffffffffffff", 16),
+            new BigInteger("5ac635d8aa3a93e7b3ebbd55769886bc651d06b0cc53b0f63bce3c3e27d2604b", 16),
+            new BigInteger("ffffffff00000000ffffffffffffffffbce6faada7179e84f3b9cac2fc632551", 16),
+            new BigInteger("6b17d1f2e12c4247f8bce6e563a440f277037d812deb33a0f4a13945d898c296", 16),
+            new BigInteger("4fe342e2fe1a7f9b8ee7eb4a7c0f9e162bce33576b315ececbb6406837bf51f5", 16));
+
+    private static final BigInteger THREE = BigInteger.valueOf(3);
+    // width of the signed digits used by variable-base scalar multiplication, 2^(WNAF_WIDTH-2) odd multiples are precomputed
+    private static final int WNAF_WIDTH = 5;
+    // window of the fixed-base table of the generator shared by every key on this curve
+    private static final int GENERATOR_WINDOW = 6;
+
+    private final String name;
+    private final BigInteger p, b, n, sqrtExponent;
+    // field products are reduced with multiplications and shifts instead of a division
+    private final BarrettReducer field;
+    private final CurvePoint generator;
+    private final int fieldBytes;
+    private volatile FixedBaseScalarMultiplication generatorTable;
+
+    private EllipticCurve(String name, BigInteger p, BigInteger b, BigInteger n, BigInteger gx, BigInteger gy) {
+        this.name = name;
+        this.p = p;
+        this.b = b;
+        this.n = n;
+        this.field = new BarrettReducer(p);
+        // p = 3 mod 4, so a square root of a quadratic residue v is v^((p+1)/4)
+        this.sqrtExponent = p.add(BigInteger.ONE).shiftRight(2);
+        this.generator = new CurvePoint(gx, gy);
+        this.fieldBytes = (p.bitLength() + 7) / 8;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public BigInteger getFieldPrime() {
+        return this.p;
+    }
+
+    public BigInteger getOrder() {
+        return this.n;
+    }
+
+    public CurvePoint getGenerator() {
+        return this.generator;
+    }
+
+    public FixedBaseScalarMultiplication getGeneratorTable() {
+        // built on first use and shared, the table only depends on the curve
+        FixedBaseScalarMultiplication table = this.generatorTable;
+        if (table == null) {
+            synchronized (this) {
+                table = this.generatorTable;
+                if (table == null) {
+                    table = new FixedBaseScalarMultiplication(this, this.generator, GENERATOR_WINDOW);
+                    this.generatorTable = table;
+                }
+            }
+        }
+        return table;
+    }
+
+    public boolean isOnCurve(CurvePoint point) {
+        if (point.isInfinity())
+            return true;
+        BigInteger x = point.getX(), y = point.getY();
+        if (x.signum() < 0 || x.compareTo(this.p) >= 0 || y.signum() < 0 || y.compareTo(this.p) >= 0)
+            return false;
+        return this.square(y).equals(this.rightHandSide(x));
+    }
+
+    public CurvePoint add(CurvePoint first, CurvePoint second) {
+        return this.toAffine(this.addAffine(this.toJacobian(first), second));
+    }
+
+    public CurvePoint negate(CurvePoint point) {
+        if (point.isInfinity() || point.getY().signum() == 0)
+            return point;
+        return new CurvePoint(point.getX(), this.p.subtract(point.getY()));
+    }
+
+    public CurvePoint subtract(CurvePoint first, CurvePoint second) {
+        return this.add(first, this.negate(second));
+    }
+
+    public CurvePoint multiply(CurvePoint point, BigInteger k) {
+        return this.toAffine(this.multiplyJacobian(point, k));
+    }
+
+    BigInteger[] multiplyJacobian(CurvePoint point, BigInteger k) {
+        // calculating k * point for an arbitrary point with the width-w NAF of k, negating a point is free on a curve,
+        // so the signed digits halve the precomputed multiples and leave about bits / (w + 1) additions
+        k = k.mod(this.n);
+        if (k.signum() == 0 || point.isInfinity())
+            return infinity();
+
+        // the odd multiples P, 3P, ..., (2^(w-1) - 1)P, normalized together so that every addition is a mixed one
+        int count = 1 << (WNAF_WIDTH - 2);
+        BigInteger[][] odd = new BigInteger[count][];
+        odd[0] = this.toJacobian(point);
+        CurvePoint twice = this.toAffine(this.twice(odd[0]));
+        for (int i = 1; i < count; i++) {
+            odd[i] = this.addAffine(odd[i - 1], twice);
+        }
+        CurvePoint[] multiples = this.normalize(odd);
+
+        int[] digits = wnaf(k, WNAF_WIDTH);
+        BigInteger[] result = infinity();
+        for (int i = digits.length - 1; i >= 0; i--) {
+            result = this.twice(result);
+            int digit = digits[i];
+            if (digit > 0)
+                result = this.addAffine(result, multiples[digit >> 1]);
+            else if (digit < 0)
+                result = this.addAffine(result, this.negate(multiples[(-digit) >> 1]));
+        }
+        return result;
+    }
+
+    static int[] wnaf(BigInteger k, int width) {
+        // digits d_i in (-2^(w-1), 2^(w-1)) with k = sum over i of d_i * 2^i, every non-zero digit is odd and
+        // followed by at least w-1 zeros
+        int[] digits = new int[k.bitLength() + 1];
+        int modulus = 1 << width;
+        int length = 0;
+        while (k.signum() > 0) {
+            int digit = 0;
+            if (k.testBit(0)) {
+                digit = k.intValue() & (modulus - 1);
+                if (digit >= modulus >> 1)
+                    digit -= modulus;
+                k = k.subtract(BigInteger.valueOf(digit));
+            }
+            digits[length++] = digit;
+            k = k.shiftRight(1);
+        }
+        return Arrays.copyOf(digits, length);
+    }
+
+    public int getEncodedLength() {
+        return 1 + this.fieldBytes;
+    }
+
+    public byte[] encode(CurvePoint point) {
+        byte[] encoded = new byte[this.getEncodedLength()];
+        this.encode(point, encoded, 0);
+        return encoded;
+    }
+
+    public void encode(CurvePoint point, byte[] output, int offset) {
+        // SEC 1 compressed form, 0x02 or 0x03 for the parity of y followed by x as a fixed width big-endian integer,
+        // the point at infinity is written as all zeros
+        Arrays.fill(output, offset, offset + this.getEncodedLength(), (byte) 0);
+        if (point.isInfinity())
+            return;
+        output[offset] = (byte) (point.getY().testBit(0) ? 0x03 : 0x02);
+        byte[] x = point.getX().toByteArray();
+        int length = Math.min(x.length, this.fieldBytes);
+        System.arraycopy(x, x.length - length, output, offset + 1 + this.fieldBytes - length, length);
+    }
+
+    public CurvePoint decode(byte[] input, int offset) {
+        // recovering y from x as the square root of x^3 - 3x + b with the encoded parity, which also rejects every
+        // x that is not the coordinate of a curve point
+        if (offset < 0 || input.length - offset < this.getEncodedLength())
+            throw new IllegalArgumentException("expected " + this.getEncodedLength() + " bytes at offset " + offset + " but got " + Math.max(0, input.length - offset));
+        int prefix = input[offset];
+        BigInteger x = new BigInteger(1, Arrays.copyOfRange(input, offset + 1, offset + 1 + this.fieldBytes));
+        if (prefix == 0 && x.signum() == 0)
+            return CurvePoint.INFINITY;
+        if ((prefix != 0x02 && prefix != 0x03) || x.compareTo(this.p) >= 0)
+            throw new IllegalArgumentException("not a compressed " + this.name + " point");
+        BigInteger rightHandSide = this.rightHandSide(x);
+        BigInteger y = rightHandSide.modPow(this.sqrtExponent, this.p);
+        if (!this.square(y).equals(rightHandSide))
+            throw new IllegalArgumentException("x is not the coordinate of a " + this.name + " point");
+        if (y.testBit(0) != (prefix == 0x03))
+            y = this.p.subtract(y);
+        return new CurvePoint(x, y);
+    }
+
+    private BigInteger rightHandSide(BigInteger x) {
+        // x^3 - 3x + b
+        return this.multiply(this.square(x), x).subtract(x.multiply(THREE)).add(this.b).mod(this.p);
+    }
+
+    static BigInteger[] infinity() {
+        // points in projective Jacobian coordinates (X, Y, Z) stand for the affine point (X / Z^2, Y / Z^3), so additions
+        // and doublings need no inversion, Z = 0 is the point at infinity
+        return new BigInteger[]{BigInteger.ONE, BigInteger.ONE, BigInteger.ZERO};
+    }
+
+    BigInteger[] toJacobian(CurvePoint point) {
+        return point.isInfinity() ? infinity() : new BigInteger[]{point.getX(), point.getY(), BigInteger.ONE};
+    }
+
+    CurvePoint toAffine(BigInteger[] point) {
+        if (point[2].signum() == 0)
+            return CurvePoint.INFINITY;
+        BigInteger zInverse = point[2].modInverse(this.p);
+        BigInteger zInverseSquared = this.square(zInverse);
+        return new CurvePoint(this.multiply(point[0], zInverseSquared), this.multiply(point[1], this.multiply(zInverseSquared, zInverse)));
+    }
+
+    CurvePoint[] normalize(BigInteger[][] points) {
+        // converting all points to affine coordinates with a single inversion
+        BigInteger[] z = new BigInteger[points.length];
+        for (int i = 0; i < points.length; i++) {
+            z[i] = points[i][2].signum() == 0 ? BigInteger.ONE : points[i][2];
+        }
+        this.invertAll(z, points.length);
+        CurvePoint[] result = new CurvePoint[points.length];
+        for (int i = 0; i < points.length; i++) {
+            if (points[i][2].signum() == 0) {
+                result[i] = CurvePoint.INFINITY;
+                continue;
+            }
+            BigInteger zInverseSquared = this.square(z[i]);
+            result[i] = new CurvePoint(this.multiply(points[i][0], zInverseSquared), this.multiply(points[i][1], this.multiply(zInverseSquared, z[i])));
+        }
+        return result;
+    }
+
+    BigInteger[] twice(BigInteger[] point) {
+        // doubling for a = -3 (dbl-2001-b): 3 multiplications and 5 squarings
+        if (point[2].signum() == 0 || point[1].signum() == 0)
+            return infinity();
+        BigInteger delta = this.square(point[2]);
+        BigInteger gamma = this.square(point[1]);
+        BigInteger beta = this.multiply(point[0], gamma);
+        BigInteger alpha = this.multiply(this.subtract(point[0], delta), this.add(point[0], delta)).multiply(THREE).mod(this.p);
+        BigInteger x3 = this.subtract(this.square(alpha), beta.shiftLeft(3).mod(this.p));
+        BigInteger z3 = this.subtract(this.subtract(this.square(this.add(point[1], point[2])), gamma), delta);
+        BigInteger y3 = this.subtract(this.multiply(alpha, this.subtract(beta.shiftLeft(2).mod(this.p), x3)), this.square(gamma).shiftLeft(3).mod(this.p));
+        return new BigInteger[]{x3, y3, z3};
+    }
+
+    BigInteger[] addAffine(BigInteger[] point, CurvePoint other) {
+        // mixed addition of an affine point (madd-2007-bl): 7 multiplications and 4 squarings
+        if (other.isInfinity())
+            return point;
+        if (point[2].signum() == 0)
+            return this.toJacobian(other);
+        BigInteger z1z1 = this.square(point[2]);
+        BigInteger u2 = this.multiply(other.getX(), z1z1);
+        BigInteger s2 = this.multiply(other.getY(), this.multiply(point[2], z1z1));
+        BigInteger h = this.subtract(u2, point[0]);
+        BigInteger r = this.subtract(s2, point[1]).shiftLeft(1).mod(this.p);
+        if (h.signum() == 0)
+            return r.signum() == 0 ? this.twice(point) : infinity();
+        BigInteger hh = this.square(h);
+        BigInteger i = hh.shiftLeft(2).mod(this.p);
+        BigInteger j = this.multiply(h, i);
+        BigInteger v = this.multiply(point[0], i);
+        BigInteger x3 = this.subtract(this.subtract(this.square(r), j), v.shiftLeft(1).mod(this.p));
+        BigInteger y3 = this.subtract(this.multiply(r, this.subtract(v, x3)), this.multiply(point[1], j).shiftLeft(1).mod(this.p));
+        BigInteger z3 = this.subtract(this.subtract(this.square(this.add(point[2], h)), z1z1), hh);
+        return new BigInteger[]{x3, y3, z3};
+    }
+
+    BigInteger add(BigInteger a, BigInteger b) {
+        // arithmetic in F_p on reduced operands
+        BigInteger sum = a.add(b);
+        return sum.compareTo(this.p) >= 0 ? sum.subtract(this.p) : sum;
+    }
+
+    BigInteger subtract(BigInteger a, BigInteger b) {
+        BigInteger difference = a.subtract(b);
+        return difference.signum() < 0 ? difference.add(this.p) : difference;
+    }
+
+    BigInteger multiply(BigInteger a, BigInteger b) {
+        return this.field.multiply(a, b);
+    }
+
+    BigInteger square(BigInteger a) {
+        return this.field.reduce(a.multiply(a));
+    }
+
+    void invertAll(BigInteger[] values, int count) {
+        // Montgomery's trick, inverting the product of all values once and peeling the single inverses off it
+        // with three multiplications each, the values have to be non-zero
+        if (count == 0)
+            return;
+        BigInteger[] prefix = new BigInteger[count];
+        prefix[0] = values[0];
+        for (int i = 1; i < count; i++) {
+            prefix[i] = this.multiply(prefix[i - 1], values[i]);
+        }
+        BigInteger inverse = prefix[count - 1].modInverse(this.p);
+        for (int i = count - 1; i > 0; i--) {
+            BigInteger value = values[i];
+            values[i] = this.multiply(inverse, prefix[i - 1]);
+            inverse = this.multiply(inverse, value);
+        }
+        values[0] = inverse;
+    }
+}
@@ -0,0 +1,189 @@
+package cryptography;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+public class EllipticCurveBabyStepGiantStep implements AutoCloseable {
+    // number of table entries every build task normalizes with one inversion before inserting them into the table
+    private static final int BLOCK = 1 << 12;
+    // number of steps of a decoding whose affine additions share one inversion
+    private static final int STEP_BLOCK = 1 << 7;
+    // the steps are kept as affine points in memory, which bounds a decoding to 2^MAX_STRIDE_BITS of them
+    public static final int MAX_STRIDE_BITS = 20;
+    public static final int MAX_MESSAGE_BITS = DiscreteLogarithmTable.MAX_TABLE_BITS + MAX_STRIDE_BITS;
+
+    // m in [0, 2^messageBits) is written as m = k * stride - s with k in [1, 2^tableBits] and s in [1, stride],
+    // the table holds the x coordinates of k * stride * G and a decoding adds the precomputed s * G to h
+    private final EllipticCurve curve;
+    private final int messageBits, tableBits, strideBits;
+    private final CurvePoint[] steps;
+    private final DiscreteLogarithmTable table;
+
+    private EllipticCurveBabyStepGiantStep(EllipticCurve curve, int messageBits, int tableBits, DiscreteLogarithmTable table) {
+        this.curve = curve;
+        this.messageBits = messageBits;
+        this.tableBits = tableBits;
+        this.strideBits = messageBits - tableBits;
+        this.table = table;
+
+        // s * G for s in [1, stride] in affine coordinates
+        BigInteger[][] multiples = new BigInteger[1 << this.strideBits][];
+        BigInteger[] multiple = curve.toJacobian(curve.getGenerator());
+        for (int s = 0; s < multiples.length; s++) {
+            multiples[s] = multiple;
+            multiple = curve.addAffine(multiple, curve.getGenerator());
+        }
+        this.steps = curve.normalize(multiples);
+    }
+
+    public static EllipticCurveBabyStepGiantStep build(EllipticCurve curve, int messageBits, int tableBits) {
+        return build(curve, messageBits, tableBits, Runnable::run, 1);
+    }
+
+    public static EllipticCurveBabyStepGiantStep build(EllipticCurve curve, int messageBits, int tableBits, Executor executor, int parallelism) {
+        checkBits(messageBits, tableBits);
+        if (parallelism < 1)
+            throw new IllegalArgumentException("parallelism must be positive");
+        DiscreteLogarithmTable table = buildTable(curve, messageBits - tableBits, 1 << tableBits, identity(curve, messageBits, tableBits), executor, parallelism);
+        return new EllipticCurveBabyStepGiantStep(curve, messageBits, tableBits, table);
+    }
+
+    public static EllipticCurveBabyStepGiantStep cached(Path directory, EllipticCurve curve, int messageBits, int tableBits, Executor executor, int parallelism) throws IOException {
+        // mapping the table of this curve and bound if it was stored before, otherwise building and storing it
+        checkBits(messageBits, tableBits);
+        long identity = identity(curve, messageBits, tableBits);
+        Path path = directory.resolve("ecbsgs-" + curve.getName() + "-" + messageBits + "-" + tableBits + "-" + Long.toHexString(identity) + ".table");
+        if (Files.exists(path))
+            return new EllipticCurveBabyStepGiantStep(curve, messageBits, tableBits, DiscreteLogarithmTable.open(path, identity));
+
+        EllipticCurveBabyStepGiantStep decoder = build(curve, messageBits, tableBits, executor, parallelism);
+        decoder.table.save(path);
+        return decoder;
+    }
+
+    private static void checkBits(int messageBits, int tableBits) {
+        DiscreteLogarithmTable.checkSplit(messageBits, tableBits, MAX_STRIDE_BITS);
+    }
+
+    public EllipticCurve getCurve() {
+        return this.curve;
+    }
+
+    public int getMessageBits() {
+        return this.messageBits;
+    }
+
+    public int getTableBits() {
+        return this.tableBits;
+    }
+
+    public long discreteLogarithm(CurvePoint h) {
+        // h = m * G with m = k * stride - s, so h + s * G = k * stride * G is found in the table for exactly one s in
+        // [1, stride], the affine additions of a block of steps share one inversion of their denominators x_s - x_h
+        if (h.isInfinity())
+            return 0;
+        BigInteger hx = h.getX(), hy = h.getY();
+        BigInteger[] denominators = new BigInteger[STEP_BLOCK];
+        for (int first = 0; first < this.steps.length; first += STEP_BLOCK) {
+            int count = Math.min(STEP_BLOCK, this.steps.length - first);
+            for (int c = 0; c < count; c++) {
+                BigInteger denominator = this.curve.subtract(this.steps[first + c].getX(), hx);
+                // a zero denominator means h = s * G or h = -s * G, the first one is answered right away
+                if (denominator.signum() == 0) {
+                    if (this.steps[first + c].getY().equals(hy) && first + c + 1 < (1L << this.messageBits))
+                        return first + c + 1;
+                    denominator = BigInteger.ONE;
+                }
+                denominators[c] = denominator;
+            }
+            this.curve.invertAll(denominators, count);
+
+            for (int c = 0; c < count; c++) {
+                CurvePoint step = this.steps[first + c];
+                if (step.getX().equals(hx))
+                    continue;
+                // x(h + s * G) = lambda^2 - x_h - x_s with lambda = (y_s - y_h) / (x_s - x_h)
+                BigInteger lambda = this.curve.multiply(this.curve.subtract(step.getY(), hy), denominators[c]);
+                BigInteger x = this.curve.subtract(this.curve.subtract(this.curve.square(lambda), hx), step.getX());
+                long fingerprint = x.longValue();
+                int k;
+                for (int skip = 0; (k = this.table.get(fingerprint, skip)) >= 0; skip++) {
+                    // the fingerprint only covers the low 64 bits of x, which is shared with -(h + s * G),
+                    // a hit is confirmed before it is returned
+                    long m = ((k + 1L) << this.strideBits) - (first + c + 1);
+                    if (this.curve.getGeneratorTable().multiply(BigInteger.valueOf(m)).equals(h))
+                        return m;
+                }
+            }
+        }
+        throw new ArithmeticException("the discrete logarithm is not in [0, 2^" + this.messageBits + ")");
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.table.close();
+    }
+
+    private static DiscreteLogarithmTable buildTable(EllipticCurve curve, int strideBits, int entries, long identity, Executor executor, int parallelism) {
+        // storing the fingerprint of x(k * stride * G) under k - 1 for k in [1, entries], every task walks its own
+        // range of k from a single scalar multiplication with mixed additions and normalizes blocks of points at once
+        DiscreteLogarithmTable table = new DiscreteLogarithmTable(entries, identity);
+        CurvePoint giantStep = curve.getGeneratorTable().multiply(BigInteger.ONE.shiftLeft(strideBits));
+        int tasks = Math.min(parallelism, entries);
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[tasks];
+        for (int task = 0; task < tasks; task++) {
+            int first = (int) ((long) entries * task / tasks);
+            int last = (int) ((long) entries * (task + 1) / tasks);
+            futures[task] = CompletableFuture.runAsync(() -> {
+                BigInteger[][] block = new BigInteger[Math.min(BLOCK, last - first)][];
+                BigInteger[] point = curve.multiplyJacobian(giantStep, BigInteger.valueOf(first + 1L));
+                for (int index = first; index < last; index += block.length) {
+                    int count = Math.min(block.length, last - index);
+                    BigInteger[][] points = count == block.length ? block : new BigInteger[count][];
+                    for (int c = 0; c < count; c++) {
+                        points[c] = point;
+                        point = curve.addAffine(point, giantStep);
+                    }
+                    CurvePoint[] affine = curve.normalize(points);
+                    synchronized (table) {
+                        for (int c = 0; c < count; c++) {
+                            table.put(affine[c].getX().longValue(), index + c);
+                        }
+                    }
+                }
+            }, executor);
+        }
+        try {
+            CompletableFuture.allOf(futures).join();
+        }
+        catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw e;
+        }
+        return table;
+    }
+
+    static long identity(EllipticCurve curve, int messageBits, int tableBits) {
+        // the first 8 bytes of SHA-256 over the curve, its generator and the split of the bound
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(curve.getFieldPrime().toByteArray());
+            digest.update(curve.encode(curve.getGenerator()));
+            digest.update((byte) messageBits);
+            digest.update((byte) tableBits);
+            return ByteBuffer.wrap(digest.digest()).getLong();
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package cryptography;
+
+import java.math.BigInteger;
+
+public class EllipticCurveElgamal {
+    private final EllipticCurve curve;
+    private final int windowSize;
+    private BigInteger x;
+    private CurvePoint y;
+    // fixed-base tables for G, shared by the curve, and for y built at key generation and reused by every encryption
+    private final FixedBaseScalarMultiplication gTable;
+    private FixedBaseScalarMultiplication yTable;
+
+    public EllipticCurveElgamal() {
+        this(EllipticCurve.P256, 6);
+    }
+
+    public EllipticCurveElgamal(EllipticCurve curve, int windowSize) {
+        this.curve = curve;
+        this.windowSize = windowSize;
+        this.gTable = curve.getGeneratorTable();
+    }
+
+    public EllipticCurve getCurve() {
+        return this.curve;
+    }
+
+    public BigInteger getSecretKey() {
+        return this.x;
+    }
+
+    public CurvePoint getPublicKey() {
+        return this.y;
+    }
+
+    public void keyGeneration() {
+        // randomly select the secret key from [1, n-1]
+        this.x = RandomSource.uniform(BigInteger.ONE, this.curve.getOrder().subtract(BigInteger.ONE));
+
+        // calculate y = x * G
+        this.y = this.gTable.multiply(this.x);
+
+        // precompute the fixed-base table of y for scalars r in [1, n-1]
+        this.yTable = new FixedBaseScalarMultiplication(this.curve, this.y, this.windowSize);
+    }
+
+    public CurvePoint[] encryption(CurvePoint m, BigInteger r) {
+        // calculate ciphertext c1 = r * G
+        CurvePoint c1 = this.gTable.multiply(r);
+
+        // calculate ciphertext c2 = m + r * y
+        CurvePoint c2 = this.curve.toAffine(this.curve.addAffine(this.yTable.multiplyJacobian(r), m));
+
+        return new CurvePoint[]{c1, c2};
+    }
+
+    public CurvePoint decryption(CurvePoint[] c) {
+        // calculate decrypted message md = c2 - x * c1 = c2 + (n - x) * c1
+        BigInteger[] t = this.curve.multiplyJacobian(c[0], this.curve.getOrder().subtract(this.x));
+        return this.curve.toAffine(this.curve.addAffine(t, c[1]));
+    }
+
+    public CurvePoint[] exponentialEncryption(BigInteger m, BigInteger r) {
+        // encrypting the point m * G, so adding ciphertexts adds the messages
+        if (m.signum() < 0)
+            throw new IllegalArgumentException("m must not be negative");
+        return this.encryption(this.gTable.multiply(m), r);
+    }
+
+    public long exponentialDecryption(CurvePoint[] c, EllipticCurveBabyStepGiantStep decoder) {
+        // decrypting to m * G and recovering m by baby-step giant-step, m has to be below the bound of the decoder
+        if (decoder.getCurve() != this.curve)
+            throw new IllegalArgumentException("the decoder was built for a different curve");
+        return decoder.discreteLogarithm(this.decryption(c));
+    }
+
+    public CurvePoint[] homomorphicAddition(CurvePoint[] c, CurvePoint[] d) {
+        // (c1 + d1, c2 + d2) encrypts m + m', the group operation of the curve written additively
+        return new CurvePoint[]{this.curve.add(c[0], d[0]), this.curve.add(c[1], d[1])};
+    }
+
+    public byte[] encode(CurvePoint[] c) {
+        // both points in compressed form, 66 bytes for P-256
+        int length = this.curve.getEncodedLength();
+        byte[] encoded = new byte[2 * length];
+        this.curve.encode(c[0], encoded, 0);
+        this.curve.encode(c[1], encoded, length);
+        return encoded;
+    }
+
+    public CurvePoint[] decode(byte[] encoded) {
+        // decompressing both points, which rejects anything that is not on the curve
+        int length = this.curve.getEncodedLength();
+        if (encoded.length != 2 * length)
+            throw new IllegalArgumentException("expected " + 2 * length + " bytes but got " + encoded.length);
+        return new CurvePoint[]{this.curve.decode(encoded, 0), this.curve.decode(encoded, length)};
+    }
+
+    public static void main(String[] args) {
+        // Initializing an object of EllipticCurveElgamal class
+        System.out.println();
+        System.out.println("---------- Using the curve " + EllipticCurve.P256.getName() + " ----------");
+        EllipticCurveElgamal elgamal = new EllipticCurveElgamal();
+        BigInteger n = elgamal.getCurve().getOrder();
+        System.out.println("The group order is n = " + n);
+        System.out.println("The generator is G = " + elgamal.getCurve().getGenerator());
+        System.out.println();
+
+        // Key Generation
+        System.out.println("-------------------- Key Generation --------------------");
+        elgamal.keyGeneration();
+        System.out.println("The secret key x = " + elgamal.getSecretKey());
+        System.out.println("The public key y = " + elgamal.getPublicKey());
+        System.out.println();
+
+        // Encryption
+        System.out.println("-------------------- Encryption --------------------");
+        // generating a random message point m = k * G and a random number r between [1, n-1]
+        CurvePoint m = elgamal.getCurve().getGeneratorTable().multiply(RandomSource.uniform(BigInteger.ONE, n.subtract(BigInteger.ONE)));
+        System.out.println("Plaintext (randomly generate) to be encrypted is m = " + m);
+        BigInteger r = RandomSource.uniform(BigInteger.ONE, n.subtract(BigInteger.ONE));
+        System.out.println("The random number is r = " + r);
+        CurvePoint[] c = elgamal.encryption(m, r);
+        System.out.println("Ciphertext is c = (c1, c2) = (" + c[0] + ", " + c[1] + ")");
+        System.out.println("Compressed ciphertext takes " + elgamal.encode(c).length + " bytes");
+        System.out.println();
+
+        System.out.println("-------------------- Decryption --------------------");
+        CurvePoint md = elgamal.decryption(elgamal.decode(elgamal.encode(c)));
+        System.out.println("Decrypted plaintext is m = " + md);
+        System.out.println();
+
+        if (m.equals(md)) {
+            System.out.println("Decryption was successful");
+        }
+        else {
+            System.out.println("Decryption was unsuccessful");
+        }
+        System.out.println();
+
+        // verifying the additive homomorphic property with messages encoded as m * G
+        System.out.println("---------- Elliptic Curve Elgamal Homomorphic Encryption ----------");
+        BigInteger m1 = new BigInteger("1000");
+        BigInteger m2 = new BigInteger("2000");
+        System.out.println("Message m1 is = " + m1);
+        System.out.println("Message m2 is = " + m2);
+        CurvePoint[] ciphertext1 = elgamal.exponentialEncryption(m1, RandomSource.uniform(BigInteger.ONE, n.subtract(BigInteger.ONE)));
+        CurvePoint[] ciphertext2 = elgamal.exponentialEncryption(m2, RandomSource.uniform(BigInteger.ONE, n.subtract(BigInteger.ONE)));
+        CurvePoint[] sumCiphertext = elgamal.homomorphicAddition(ciphertext1, ciphertext2);
+
+        // building the table for messages below 2^32 with 2^16 entries
+        EllipticCurveBabyStepGiantStep decoder = EllipticCurveBabyStepGiantStep.build(elgamal.getCurve(), 32, 16);
+        long sum = elgamal.exponentialDecryption(sumCiphertext, decoder);
+        System.out.println("Decrypted message for added m1+m2 is = " + sum);
+        System.out.println();
+
+        if (BigInteger.valueOf(sum).equals(m1.add(m2))) {
+            System.out.println("Elliptic Curve Elgamal Encryption is Additive Homomorphic");
+        }
+        else {
+            System.out.println("Elliptic Curve Elgamal Encryption is not Additive Homomorphic");
+        }
+    }
+}
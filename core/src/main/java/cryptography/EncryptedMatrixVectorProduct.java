@@ -0,0 +1,205 @@
+package cryptography;
+
+import java.math.BigInteger;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+public class EncryptedMatrixVectorProduct {
+    private final PaillierPublicKey publicKey;
+    private final MultiExponentiation multiExponentiation;
+    private final Executor executor;
+    private final int parallelism;
+    // upper bound on the memory held by the fixed-base tables of one product
+    private final long fixedBaseMemoryBudget;
+
+    public EncryptedMatrixVectorProduct(PaillierPublicKey publicKey) {
+        this(publicKey, Runnable::run, 1, 256L << 20);
+    }
+
+    public EncryptedMatrixVectorProduct(PaillierPublicKey publicKey, Executor executor, int parallelism, long fixedBaseMemoryBudget) {
+        if (parallelism < 1 || fixedBaseMemoryBudget < 0)
+            throw new IllegalArgumentException("parallelism must be positive and fixedBaseMemoryBudget must not be negative");
+        this.publicKey = publicKey;
+        this.multiExponentiation = new MultiExponentiation(publicKey.getCompositeModulusNSquared());
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.fixedBaseMemoryBudget = fixedBaseMemoryBudget;
+    }
+
+    public PaillierPublicKey getPublicKey() {
+        return this.publicKey;
+    }
+
+    public BigInteger[] multiply(BigInteger[] encryptedX, BigInteger[][] weights) {
+        // calculating Enc(sum over i of W[k][i] * x[i]) = product over i of Enc(x[i])^W[k][i] mod n^2 for every model k
+        int models = weights.length, features = encryptedX.length;
+        BigInteger nSquared = this.publicKey.getCompositeModulusNSquared();
+        int bits = 1;
+        boolean[] negative = new boolean[features];
+        for (BigInteger[] row : weights) {
+            if (row.length != features)
+                throw new IllegalArgumentException("expected " + features + " weights per model but got " + row.length);
+            for (int i = 0; i < features; i++) {
+                bits = Math.max(bits, row[i].bitLength());
+                negative[i] |= row[i].signum() < 0;
+            }
+        }
+        int exponentBits = bits;
+        int tableCount = features;
+        for (boolean b : negative) {
+            tableCount += b ? 1 : 0;
+        }
+
+        // a negative weight raises the inverse of its ciphertext to |W[k][i]|, every needed inverse is computed once
+        // and shared by all models instead of once per model
+        BigInteger[] bases = new BigInteger[features];
+        BigInteger[] inverses = new BigInteger[features];
+        this.runTasks(features, i -> {
+            bases[i] = encryptedX[i].mod(nSquared);
+            if (negative[i])
+                inverses[i] = bases[i].modInverse(nSquared);
+        });
+
+        BigInteger[] results = new BigInteger[models];
+        int windowSize = this.chooseFixedBaseWindowSize(models, features, tableCount, exponentBits);
+        if (windowSize == 0) {
+            // few models, a multi-exponentiation per model
+            this.runTasks(models, k -> {
+                BigInteger[] b = new BigInteger[features];
+                BigInteger[] e = new BigInteger[features];
+                for (int i = 0; i < features; i++) {
+                    b[i] = weights[k][i].signum() < 0 ? inverses[i] : bases[i];
+                    e[i] = weights[k][i].abs();
+                }
+                results[k] = features == 0 ? BigInteger.ONE : this.multiExponentiation.compute(b, e);
+            });
+            return results;
+        }
+
+        // many models, a fixed-base table per ciphertext (and per inverse) is built once and every model then only
+        // pays ceil(bits / w) table lookups and multiplications per feature
+        FixedBaseExponentiation[] tables = new FixedBaseExponentiation[features];
+        FixedBaseExponentiation[] inverseTables = new FixedBaseExponentiation[features];
+        this.runTasks(features, i -> {
+            tables[i] = new FixedBaseExponentiation(bases[i], nSquared, exponentBits, windowSize, false);
+            if (negative[i])
+                inverseTables[i] = new FixedBaseExponentiation(inverses[i], nSquared, exponentBits, windowSize, false);
+        });
+        this.runTasks(models, k -> {
+            BigInteger accumulator = BigInteger.ONE;
+            for (int i = 0; i < features; i++) {
+                BigInteger w = weights[k][i];
+                if (w.signum() != 0)
+                    accumulator = (w.signum() < 0 ? inverseTables[i] : tables[i]).multiplyByPower(accumulator, w.abs());
+            }
+            results[k] = accumulator;
+        });
+        return results;
+    }
+
+    public BigInteger[] evaluate(BigInteger[] encryptedX, double[][] theta, FixedPointCodec codec) {
+        // every result is rerandomized with a fresh s_k^n mod n^2 computed on the spot
+        BigInteger n = this.publicKey.getCompositeModulusN();
+        BigInteger nSquared = this.publicKey.getCompositeModulusNSquared();
+        return this.evaluate(encryptedX, theta, codec, () -> {
+            BigInteger s = RandomSource.unit(n);
+            return new PaillierNonce(s, s.modPow(n, nSquared));
+        });
+    }
+
+    public BigInteger[] evaluate(BigInteger[] encryptedX, double[][] theta, FixedPointCodec codec, PaillierNoncePool noncePool) {
+        // taking the rerandomizers from a pool of the same key, which moves their exponentiations off this call
+        if (!noncePool.getPublicKey().getCompositeModulusN().equals(this.publicKey.getCompositeModulusN()))
+            throw new IllegalArgumentException("the nonce pool was built for a different key");
+        return this.evaluate(encryptedX, theta, codec, noncePool::take);
+    }
+
+    private BigInteger[] evaluate(BigInteger[] encryptedX, double[][] theta, FixedPointCodec codec, Supplier<PaillierNonce> nonces) {
+        // evaluating K regression models f_k(θ, x) = theta[k][0] + sum over i of theta[k][i+1] * x[i] on the same Enc(encoded x)
+        int models = theta.length, features = encryptedX.length;
+        BigInteger[][] weights = new BigInteger[models][features];
+        long[] encoded = new long[features + 1];
+        for (int k = 0; k < models; k++) {
+            if (theta[k].length != features + 1)
+                throw new IllegalArgumentException("expected " + (features + 1) + " weights per model but got " + theta[k].length);
+            codec.encode(theta[k], encoded);
+            for (int i = 0; i < features; i++) {
+                weights[k][i] = BigInteger.valueOf(encoded[i + 1]);
+            }
+        }
+        BigInteger[] results = this.multiply(encryptedX, weights);
+
+        // adding the encoded theta[k][0] * encoded 1 as g^m = 1 + m * n mod n^2, so the intercept carries the same scale
+        // as the products, and multiplying by a fresh s_k^n, as the randomness product over i of r_i^(W[k][i]) of the
+        // plain product is known to the key holder, who encrypted x, and would tell it about the weights
+        BigInteger n = this.publicKey.getCompositeModulusN();
+        BigInteger nSquared = this.publicKey.getCompositeModulusNSquared();
+        BigInteger encodedOne = BigInteger.valueOf(codec.encode(1));
+        this.runTasks(models, k -> {
+            BigInteger intercept = codec.toPlaintext(codec.encode(theta[k][0])).multiply(encodedOne).mod(n);
+            BigInteger result = results[k].multiply(intercept.multiply(n).add(BigInteger.ONE)).mod(nSquared);
+            results[k] = this.publicKey.rerandomization(result, nonces.get());
+        });
+        return results;
+    }
+
+    int chooseFixedBaseWindowSize(int models, int features, int tables, int exponentBits) {
+        if (this.fixedBaseMemoryBudget == 0 || models == 0 || features == 0)
+            return 0;
+
+        // a multi-exponentiation per model costs about ceil(bits / c) * (features + 2^(c+1)) + bits multiplications
+        int c = MultiExponentiation.chooseWindowSize(features, exponentBits);
+        long multiExponentiationCost = (long) models * ((long) ((exponentBits + c - 1) / c) * (features + (2L << c)) + exponentBits);
+
+        // fixed-base tables with window w cost tables * ceil(bits / w) * 2^w multiplications to build, with a second
+        // table for the inverse of every base that has a negative weight, and features * ceil(bits / w) multiplications
+        // per model, picking the cheapest window that fits the budget
+        int best = 0;
+        long bestCost = multiExponentiationCost;
+        for (int w = 1; w <= 12; w++) {
+            long tableBytes = tables * FixedBaseExponentiation.tableBytes(exponentBits, w, this.publicKey.getCompositeModulusNSquared());
+            if (tableBytes > this.fixedBaseMemoryBudget)
+                break;
+            long windows = (exponentBits + w - 1) / w;
+            long cost = tables * windows * (1L << w) + (long) models * features * windows;
+            if (cost < bestCost) {
+                bestCost = cost;
+                best = w;
+            }
+        }
+        return best;
+    }
+
+    private void runTasks(int count, IntConsumer body) {
+        if (this.parallelism == 1 || count <= 1) {
+            for (int index = 0; index < count; index++) {
+                body.accept(index);
+            }
+            return;
+        }
+
+        // handing [0, count) out to at most parallelism tasks of neighbouring indices
+        int tasks = Math.min(this.parallelism, count);
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[tasks];
+        for (int task = 0; task < tasks; task++) {
+            int first = (int) ((long) count * task / tasks);
+            int last = (int) ((long) count * (task + 1) / tasks);
+            futures[task] = CompletableFuture.runAsync(() -> {
+                for (int index = first; index < last; index++) {
+                    body.accept(index);
+                }
+            }, this.executor);
+        }
+        try {
+            CompletableFuture.allOf(futures).join();
+        }
+        catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw e;
+        }
+    }
+}
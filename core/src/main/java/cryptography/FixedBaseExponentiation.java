@@ -0,0 +1,143 @@
+package cryptography;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+
+public class FixedBaseExponentiation {
+    private final BigInteger base, modulus;
+    private final BarrettReducer reducer;
+    private final int exponentBits, windowSize, rows, entriesPerRow, entryBytes;
+    // table[i][d-1] = base^(d * 2^(windowSize * i)) mod modulus for every window i and digit d in [1, 2^windowSize - 1]
+    // kept either as BigIntegers on the heap or as fixed width big-endian entries in a direct buffer
+    private final BigInteger[] heapTable;
+    private final ByteBuffer offHeapTable;
+
+    public FixedBaseExponentiation(BigInteger base, BigInteger modulus, int exponentBits, int windowSize, boolean offHeap) {
+        if (windowSize < 1 || windowSize > 16)
+            throw new IllegalArgumentException("windowSize must be between 1 and 16");
+        if (exponentBits < 1)
+            throw new IllegalArgumentException("exponentBits must be positive");
+        this.base = base.mod(modulus);
+        this.modulus = modulus;
+        this.reducer = new BarrettReducer(modulus);
+        this.exponentBits = exponentBits;
+        this.windowSize = windowSize;
+        this.rows = (exponentBits + windowSize - 1) / windowSize;
+        this.entriesPerRow = (1 << windowSize) - 1;
+        this.entryBytes = (modulus.bitLength() + 7) / 8;
+
+        long entries = (long) this.rows * this.entriesPerRow;
+        if (offHeap) {
+            if (entries * this.entryBytes > Integer.MAX_VALUE)
+                throw new IllegalArgumentException("table does not fit in a single direct buffer, reduce windowSize");
+            this.heapTable = null;
+            this.offHeapTable = ByteBuffer.allocateDirect((int) (entries * this.entryBytes));
+        }
+        else {
+            this.heapTable = new BigInteger[(int) entries];
+            this.offHeapTable = null;
+        }
+
+        // filling row i with rowBase^d where rowBase = base^(2^(windowSize * i))
+        BigInteger rowBase = this.base;
+        for (int i = 0; i < this.rows; i++) {
+            BigInteger power = rowBase;
+            for (int d = 1; d <= this.entriesPerRow; d++) {
+                this.store(i * this.entriesPerRow + d - 1, power);
+                power = this.reducer.multiply(power, rowBase);
+            }
+            // power is now rowBase^(2^windowSize), the base of the next row
+            rowBase = power;
+        }
+    }
+
+    public BigInteger getBase() {
+        return this.base;
+    }
+
+    public BigInteger getModulus() {
+        return this.modulus;
+    }
+
+    public int getWindowSize() {
+        return this.windowSize;
+    }
+
+    public boolean isOffHeap() {
+        return this.offHeapTable != null;
+    }
+
+    public BigInteger modPow(BigInteger exponent) {
+        return this.multiplyByPower(BigInteger.ONE, exponent);
+    }
+
+    public BigInteger multiplyByPower(BigInteger accumulator, BigInteger exponent) {
+        // exponents outside of the range covered by the table fall back to a plain exponentiation
+        if (exponent.signum() < 0 || exponent.bitLength() > this.exponentBits)
+            return this.reducer.multiply(accumulator, this.base.modPow(exponent, this.modulus));
+
+        // calculating accumulator * base^e = accumulator * product over i of table[i][e_i] where e = sum over i of e_i * 2^(windowSize * i)
+        // an accumulator of one is skipped instead of being multiplied in
+        BigInteger result = accumulator.equals(BigInteger.ONE) ? null : accumulator;
+        int windows = (exponent.bitLength() + this.windowSize - 1) / this.windowSize;
+        for (int i = 0; i < windows; i++) {
+            int digit = 0;
+            for (int b = this.windowSize - 1; b >= 0; b--) {
+                digit = (digit << 1) | (exponent.testBit(i * this.windowSize + b) ? 1 : 0);
+            }
+            if (digit != 0) {
+                BigInteger entry = this.load(i * this.entriesPerRow + digit - 1);
+                result = result == null ? entry : this.reducer.multiply(result, entry);
+            }
+        }
+
+        return result == null ? BigInteger.ONE : result;
+    }
+
+    public BigInteger multiplyByPower(BigInteger accumulator, ByteBuffer records, int recordStart, int recordBytes) {
+        // same as above for an unsigned fixed width big-endian exponent, which the table has to cover completely
+        if (recordBytes * 8 > this.rows * this.windowSize)
+            throw new IllegalArgumentException(recordBytes + " byte exponents are larger than the " + this.exponentBits + " bits covered by the table");
+
+        BigInteger result = accumulator.equals(BigInteger.ONE) ? null : accumulator;
+        int windows = (recordBytes * 8 + this.windowSize - 1) / this.windowSize;
+        for (int i = 0; i < windows; i++) {
+            int digit = MultiExponentiation.digit(records, recordStart, recordBytes, i * this.windowSize, this.windowSize);
+            if (digit != 0) {
+                BigInteger entry = this.load(i * this.entriesPerRow + digit - 1);
+                result = result == null ? entry : this.reducer.multiply(result, entry);
+            }
+        }
+
+        return result == null ? BigInteger.ONE : result;
+    }
+
+    public static long tableBytes(int exponentBits, int windowSize, BigInteger modulus) {
+        // estimated heap footprint of a table, counting the BigInteger and int[] headers of every entry
+        long entries = (long) ((exponentBits + windowSize - 1) / windowSize) * ((1 << windowSize) - 1);
+        return entries * ((modulus.bitLength() + 31) / 32 * 4L + 64);
+    }
+
+    private void store(int index, BigInteger value) {
+        if (this.heapTable != null) {
+            this.heapTable[index] = value;
+            return;
+        }
+        // writing the value as a fixed width big-endian entry, left padded with zeros
+        byte[] bytes = value.toByteArray();
+        int offset = index * this.entryBytes;
+        int length = Math.min(bytes.length, this.entryBytes);
+        for (int k = 0; k < this.entryBytes - length; k++) {
+            this.offHeapTable.put(offset + k, (byte) 0);
+        }
+        this.offHeapTable.put(offset + this.entryBytes - length, bytes, bytes.length - length, length);
+    }
+
+    private BigInteger load(int index) {
+        if (this.heapTable != null)
+            return this.heapTable[index];
+        byte[] bytes = new byte[this.entryBytes];
+        this.offHeapTable.get(index * this.entryBytes, bytes);
+        return new BigInteger(1, bytes);
+    }
+}
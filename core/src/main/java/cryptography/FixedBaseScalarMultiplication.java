@@ -0,0 +1,71 @@
+package cryptography;
+
+import java.math.BigInteger;
+
+public class FixedBaseScalarMultiplication {
+    private final EllipticCurve curve;
+    private final CurvePoint base;
+    private final int windowSize, rows, entriesPerRow;
+    // table[i * entriesPerRow + d - 1] = d * 2^(windowSize * i) * base in affine coordinates for every window i and
+    // digit d in [1, 2^windowSize - 1], so a multiplication is one mixed addition per window and no doublings
+    private final CurvePoint[] table;
+
+    public FixedBaseScalarMultiplication(EllipticCurve curve, CurvePoint base, int windowSize) {
+        if (windowSize < 1 || windowSize > 12)
+            throw new IllegalArgumentException("windowSize must be between 1 and 12");
+        if (!curve.isOnCurve(base))
+            throw new IllegalArgumentException("the base is not a point of " + curve.getName());
+        this.curve = curve;
+        this.base = base;
+        this.windowSize = windowSize;
+        this.rows = (curve.getOrder().bitLength() + windowSize - 1) / windowSize;
+        this.entriesPerRow = (1 << windowSize) - 1;
+
+        // filling row i with d * rowBase where rowBase = 2^(windowSize * i) * base, in Jacobian coordinates first
+        // and normalized with a single inversion per row for the row base and one for the whole table at the end
+        BigInteger[][] entries = new BigInteger[this.rows * this.entriesPerRow][];
+        CurvePoint rowBase = base;
+        for (int i = 0; i < this.rows; i++) {
+            BigInteger[] multiple = curve.toJacobian(rowBase);
+            for (int d = 1; d <= this.entriesPerRow; d++) {
+                entries[i * this.entriesPerRow + d - 1] = multiple;
+                multiple = curve.addAffine(multiple, rowBase);
+            }
+            // multiple is now 2^windowSize * rowBase, the base of the next row
+            rowBase = curve.toAffine(multiple);
+        }
+        this.table = curve.normalize(entries);
+    }
+
+    public EllipticCurve getCurve() {
+        return this.curve;
+    }
+
+    public CurvePoint getBase() {
+        return this.base;
+    }
+
+    public int getWindowSize() {
+        return this.windowSize;
+    }
+
+    public CurvePoint multiply(BigInteger k) {
+        return this.curve.toAffine(this.multiplyJacobian(k));
+    }
+
+    BigInteger[] multiplyJacobian(BigInteger k) {
+        // calculating k * base = sum over i of table[i][k_i] where k = sum over i of k_i * 2^(windowSize * i) for k mod n
+        k = k.mod(this.curve.getOrder());
+        BigInteger[] result = EllipticCurve.infinity();
+        int windows = (k.bitLength() + this.windowSize - 1) / this.windowSize;
+        for (int i = 0; i < windows; i++) {
+            int digit = 0;
+            for (int b = this.windowSize - 1; b >= 0; b--) {
+                digit = (digit << 1) | (k.testBit(i * this.windowSize + b) ? 1 : 0);
+            }
+            if (digit != 0)
+                result = this.curve.addAffine(result, this.table[i * this.entriesPerRow + digit - 1]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,96 @@
+package cryptography;
+
+import java.math.BigInteger;
+
+public final class FixedPointCodec {
+    // the scale of 2^30 used by LinearRegressionPaillier.encoding
+    public static final int DEFAULT_FRACTION_BITS = 30;
+
+    // a real value v is encoded as the integer floor(v * 2^fractionBits), negative integers as n - |v| in Z_n
+    private final BigInteger n, halfN;
+    private final int fractionBits;
+
+    public FixedPointCodec(BigInteger n) {
+        this(n, DEFAULT_FRACTION_BITS);
+    }
+
+    public FixedPointCodec(BigInteger n, int fractionBits) {
+        if (fractionBits < 0 || fractionBits > 62)
+            throw new IllegalArgumentException("fractionBits must be in [0, 62]");
+        if (n.bitLength() < 66)
+            throw new IllegalArgumentException("n must hold every signed 64 bit value");
+        this.n = n;
+        this.halfN = n.shiftRight(1);
+        this.fractionBits = fractionBits;
+    }
+
+    public BigInteger getModulus() {
+        return this.n;
+    }
+
+    public int getFractionBits() {
+        return this.fractionBits;
+    }
+
+    public long encode(double value) {
+        return scale(value, this.fractionBits);
+    }
+
+    public void encode(double[] values, long[] encoded) {
+        this.encode(values, 0, encoded, 0, values.length);
+    }
+
+    public void encode(double[] values, int from, long[] encoded, int offset, int length) {
+        // no allocation per element, the values stay primitive until they are turned into plaintexts
+        for (int i = 0; i < length; i++) {
+            encoded[offset + i] = scale(values[from + i], this.fractionBits);
+        }
+    }
+
+    public static long scale(double value, int fractionBits) {
+        // floor(value * 2^fractionBits), scalb only adjusts the exponent so this is exact up to the floor
+        double scaled = Math.floor(Math.scalb(value, fractionBits));
+        if (!(scaled >= -0x1p63 && scaled < 0x1p63))
+            throw new ArithmeticException(value + " does not fit in 64 bits at " + fractionBits + " fraction bits");
+        return (long) scaled;
+    }
+
+    public BigInteger toPlaintext(long encoded) {
+        // mapping the signed integer into Z_n, negatives become n - |v|
+        BigInteger value = BigInteger.valueOf(encoded);
+        return encoded < 0 ? value.add(this.n) : value;
+    }
+
+    public long toSigned(BigInteger plaintext) {
+        // values above n/2 are negative, anything that does not fit in 64 bits has overflowed
+        BigInteger value = this.signed(plaintext);
+        if (value.bitLength() > 63)
+            throw new ArithmeticException(plaintext + " does not decode to a signed 64 bit value");
+        return value.longValue();
+    }
+
+    public double decode(BigInteger plaintext, int scaleFactors) {
+        // a product of k encoded values carries the scale 2^(k * fractionBits), for example k = 2 for the terms x[i] * theta[i+1]
+        return Math.scalb(this.signed(plaintext).doubleValue(), -this.fractionBits * scaleFactors);
+    }
+
+    public void decode(BigInteger[] plaintexts, int scaleFactors, double[] values) {
+        for (int i = 0; i < plaintexts.length; i++) {
+            values[i] = this.decode(plaintexts[i], scaleFactors);
+        }
+    }
+
+    public boolean fits(double maxAbsValue, int scaleFactors) {
+        // whether every value of magnitude up to maxAbsValue at the scale 2^(scaleFactors * fractionBits) stays below n/2,
+        // so that it decodes back to itself instead of wrapping around Z_n
+        if (!(maxAbsValue >= 0) || Double.isInfinite(maxAbsValue))
+            return false;
+        int bits = (int) Math.ceil(Math.log(Math.max(maxAbsValue, 1)) / Math.log(2)) + 1 + this.fractionBits * scaleFactors;
+        return bits < this.halfN.bitLength();
+    }
+
+    private BigInteger signed(BigInteger plaintext) {
+        BigInteger value = plaintext.mod(this.n);
+        return value.compareTo(this.halfN) > 0 ? value.subtract(this.n) : value;
+    }
+}
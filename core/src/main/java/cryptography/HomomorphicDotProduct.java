@@ -0,0 +1,91 @@
+package cryptography;
+
+import java.math.BigInteger;
+
+public class HomomorphicDotProduct {
+    // costs in modular multiplications mod n^2, measured on 2048 and 4096 bit moduli: BigInteger.modPow pays a fixed
+    // Montgomery conversion plus about a third of a multiplication per exponent bit
+    static final double MODPOW_FIXED_COST = 3;
+    static final double MODPOW_COST_PER_BIT = 0.35;
+
+    private final BigInteger nSquared;
+    private final BarrettReducer reducer;
+    private final MultiExponentiation multiExponentiation;
+
+    public HomomorphicDotProduct(PaillierPublicKey publicKey) {
+        this.nSquared = publicKey.getCompositeModulusNSquared();
+        this.reducer = new BarrettReducer(this.nSquared);
+        this.multiExponentiation = new MultiExponentiation(this.nSquared);
+    }
+
+    public BigInteger compute(BigInteger[] ciphertexts, BigInteger[] weights) {
+        if (ciphertexts.length != weights.length)
+            throw new IllegalArgumentException("expected " + ciphertexts.length + " weights but got " + weights.length);
+        return this.compute(ciphertexts, SparseVector.fromDense(weights));
+    }
+
+    public BigInteger compute(BigInteger[] ciphertexts, SparseVector weights) {
+        // calculating Enc(sum over i of w[i] * x[i]) = product over the non-zero w[i] of Enc(x[i])^w[i] mod n^2
+        if (ciphertexts.length != weights.getDimension())
+            throw new IllegalArgumentException("expected " + weights.getDimension() + " ciphertexts but got " + ciphertexts.length);
+
+        // splitting the terms by sign, a negative weight -|w| contributes Enc(x)^(-|w|), so all of them are collected
+        // into one product that is inverted once at the end instead of raising Enc(x) to n - |w| or inverting every base
+        int size = weights.size();
+        BigInteger[] positiveBases = new BigInteger[size], positiveExponents = new BigInteger[size];
+        BigInteger[] negativeBases = new BigInteger[size], negativeExponents = new BigInteger[size];
+        int positives = 0, negatives = 0;
+        for (int j = 0; j < size; j++) {
+            BigInteger base = ciphertexts[weights.index(j)];
+            BigInteger weight = weights.value(j);
+            if (weight.signum() > 0) {
+                positiveBases[positives] = base;
+                positiveExponents[positives++] = weight;
+            }
+            else {
+                negativeBases[negatives] = base;
+                negativeExponents[negatives++] = weight.negate();
+            }
+        }
+
+        BigInteger result = this.product(positiveBases, positiveExponents, positives);
+        if (negatives > 0)
+            result = this.reducer.multiply(result, this.product(negativeBases, negativeExponents, negatives).modInverse(this.nSquared));
+        return result;
+    }
+
+    private BigInteger product(BigInteger[] bases, BigInteger[] exponents, int count) {
+        // calculating product over j < count of bases[j]^exponents[j] mod n^2 for positive exponents
+        int maxBits = 0;
+        double termByTermCost = 0;
+        for (int j = 0; j < count; j++) {
+            int bits = exponents[j].bitLength();
+            maxBits = Math.max(maxBits, bits);
+            termByTermCost += termCost(bits);
+        }
+        if (count == 0)
+            return BigInteger.ONE;
+        if (multiExponentiationCost(count, maxBits) < termByTermCost)
+            return this.multiExponentiation.compute(bases, exponents, 0, count);
+
+        // few terms, every term on its own where weights of 1 are a plain multiplication and larger ones use the
+        // sliding windows of BigInteger.modPow, the accumulator is reduced after every multiplication
+        BigInteger result = null;
+        for (int j = 0; j < count; j++) {
+            BigInteger term = exponents[j].equals(BigInteger.ONE) ? bases[j].mod(this.nSquared) : bases[j].modPow(exponents[j], this.nSquared);
+            result = result == null ? term : this.reducer.multiply(result, term);
+        }
+        return result;
+    }
+
+    static double termCost(int exponentBits) {
+        // one multiplication into the accumulator plus the exponentiation for weights other than 1
+        return exponentBits <= 1 ? 1 : 1 + MODPOW_FIXED_COST + MODPOW_COST_PER_BIT * exponentBits;
+    }
+
+    static double multiExponentiationCost(int terms, int exponentBits) {
+        // the Pippenger bucket method with its best window c costs ceil(bits / c) * (terms + 2^(c+1)) + bits multiplications
+        int c = MultiExponentiation.chooseWindowSize(terms, exponentBits);
+        return (double) ((exponentBits + c - 1) / c) * (terms + (2L << c)) + exponentBits;
+    }
+}
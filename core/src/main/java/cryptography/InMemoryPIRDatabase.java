@@ -0,0 +1,56 @@
+package cryptography;
+
+import java.math.BigInteger;
+
+public class InMemoryPIRDatabase implements PIRDatabase {
+    private final BigInteger[][] records;
+    private final int columns, maxRecordBits;
+
+    public InMemoryPIRDatabase(BigInteger[][] records) {
+        this.columns = records.length == 0 ? 0 : records[0].length;
+        int maxRecordBits = 0;
+        for (BigInteger[] row : records) {
+            if (row.length != this.columns)
+                throw new IllegalArgumentException("all database rows must have " + this.columns + " columns");
+            for (BigInteger record : row) {
+                maxRecordBits = Math.max(maxRecordBits, record.bitLength());
+            }
+        }
+        this.records = records;
+        this.maxRecordBits = maxRecordBits;
+    }
+
+    @Override
+    public int getRowCount() {
+        return this.records.length;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return this.columns;
+    }
+
+    @Override
+    public BigInteger getRecord(int row, int column) {
+        return this.records[row][column];
+    }
+
+    @Override
+    public int getMaxRecordBits() {
+        return this.maxRecordBits;
+    }
+
+    @Override
+    public BigInteger multiExponentiateRow(MultiExponentiation multiExponentiation, BigInteger[] bases, int row, int from, int to) {
+        return multiExponentiation.compute(bases, this.records[row], from, to);
+    }
+
+    @Override
+    public BigInteger fixedBaseExponentiateRow(FixedBaseExponentiation[] tables, int row, int from, int to) {
+        BigInteger result = BigInteger.ONE;
+        for (int j = from; j < to; j++) {
+            result = tables[j].multiplyByPower(result, this.records[row][j]);
+        }
+        return result;
+    }
+}
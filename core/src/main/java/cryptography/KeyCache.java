@@ -0,0 +1,119 @@
+package cryptography;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ForkJoinPool;
+
+public class KeyCache {
+    static final int MAGIC = 0x4B455943;
+    static final int VERSION = 1;
+    private static final int PAILLIER = 1, ELGAMAL = 2;
+
+    private final Path directory;
+    private final PrimeGenerator generator;
+
+    public KeyCache(Path directory, PrimeGenerator generator) {
+        this.directory = directory;
+        this.generator = generator;
+    }
+
+    public Path getDirectory() {
+        return this.directory;
+    }
+
+    public synchronized PaillierPrivateKey paillierKey(int modulusBits) throws IOException {
+        // reusing the cached primes p and q for this modulus size, or generating and storing new ones
+        Path path = this.directory.resolve("paillier-" + modulusBits + ".key");
+        BigInteger[] primes = read(path, PAILLIER, modulusBits);
+        if (primes == null) {
+            primes = this.generator.generatePaillierPrimes(modulusBits);
+            write(path, PAILLIER, modulusBits, primes);
+        }
+        PaillierPrivateKey privateKey = new PaillierPrivateKey(primes[0], primes[1]);
+        if (privateKey.getPublicKey().getCompositeModulusN().bitLength() != modulusBits)
+            throw new IOException(path + " does not hold a " + modulusBits + " bit Paillier key");
+        return privateKey;
+    }
+
+    public synchronized BigInteger[] elgamalGroup(int bits) throws IOException {
+        // reusing the cached safe prime p and generator g for this size, or generating and storing new ones
+        Path path = this.directory.resolve("elgamal-" + bits + ".key");
+        BigInteger[] group = read(path, ELGAMAL, bits);
+        if (group == null) {
+            group = this.generator.generateElgamalGroup(bits);
+            write(path, ELGAMAL, bits, group);
+        }
+        else if (!PrimeGenerator.generatesQuadraticResidues(group[0], group[1])) {
+            // entries written before the generator was restricted to the quadratic residues keep their prime
+            group = new BigInteger[]{group[0], PrimeGenerator.generator(group[0])};
+            write(path, ELGAMAL, bits, group);
+        }
+        if (group[0].bitLength() != bits)
+            throw new IOException(path + " does not hold a " + bits + " bit ElGamal group");
+        return group;
+    }
+
+    private static BigInteger[] read(Path path, int type, int bits) throws IOException {
+        if (!Files.exists(path))
+            return null;
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION || input.readInt() != type || input.readInt() != bits)
+                throw new IOException(path + " is not a " + bits + " bit key cache entry of version " + VERSION);
+            // no stored value is longer than the size of the key plus a sign byte
+            int maxLength = bits / 8 + 2;
+            return new BigInteger[]{CiphertextCodec.readBigInteger(input, maxLength), CiphertextCodec.readBigInteger(input, maxLength)};
+        }
+    }
+
+    private void write(Path path, int type, int bits, BigInteger[] values) throws IOException {
+        // writing to a temporary file first and moving it into place, so readers never see a partial key,
+        // createTempFile restricts the file to its owner on POSIX file systems
+        Files.createDirectories(this.directory);
+        Path temporary = Files.createTempFile(this.directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                output.writeInt(type);
+                output.writeInt(bits);
+                for (BigInteger value : values) {
+                    CiphertextCodec.writeBigInteger(output, value);
+                }
+            }
+            Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+        finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3 || !(args[1].equals("paillier") || args[1].equals("elgamal"))) {
+            System.out.println("Usage: KeyCache <cache directory> <paillier|elgamal> <bits>");
+            return;
+        }
+        int bits = Integer.parseInt(args[2]);
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        KeyCache cache = new KeyCache(Paths.get(args[0]), new PrimeGenerator(ForkJoinPool.commonPool(), parallelism));
+
+        long start = System.nanoTime();
+        if (args[1].equals("paillier")) {
+            PaillierPrivateKey privateKey = cache.paillierKey(bits);
+            System.out.println("The composite modulus is n = " + privateKey.getPublicKey().getCompositeModulusN());
+        }
+        else {
+            BigInteger[] group = cache.elgamalGroup(bits);
+            System.out.println("The safe prime is p = " + group[0]);
+            System.out.println("The value of g = " + group[1]);
+        }
+        System.out.println("Loaded or generated in " + (System.nanoTime() - start) / 1_000_000 + " ms using " + parallelism + " threads");
+    }
+}
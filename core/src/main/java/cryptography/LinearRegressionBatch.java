@@ -0,0 +1,398 @@
+package cryptography;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+public class LinearRegressionBatch {
+    // the key holder knows the randomness of every Enc(x[i]) it sent, so a result that only combines those ciphertexts
+    // would tell it the weights through its randomness, every row result is therefore multiplied by a fresh s^n mod n^2
+    // binary feature file: magic, version and feature count as ints, then every row as big-endian floats until the end
+    static final int FEATURES_MAGIC = 0x4C524246;
+    // result file: magic, version, the modulus n and then one fixed width Enc(encoded f(θ, x)) per row until the end
+    static final int RESULTS_MAGIC = 0x4C525245;
+    static final int VERSION = 1;
+
+    private final PaillierPublicKey publicKey;
+    private final int features;
+    private final BigInteger theta0Term;
+    private final Supplier<PaillierNonce> nonces;
+    private final SparseVector encodedTheta;
+    private final double[] theta;
+    private final FixedPointCodec fixedPoint;
+    private final Executor encryptExecutor, evaluateExecutor;
+    private final int chunkRows, maxChunksInFlight;
+    private final HomomorphicDotProduct dotProduct;
+    private final CiphertextCodec codec;
+
+    public LinearRegressionBatch(PaillierPublicKey publicKey, double[] theta, Executor encryptExecutor, Executor evaluateExecutor, int chunkRows, int maxChunksInFlight) {
+        // the rerandomizers s^n are computed on the evaluating threads
+        this(publicKey, theta, encryptExecutor, evaluateExecutor, chunkRows, maxChunksInFlight, () -> {
+            BigInteger s = RandomSource.unit(publicKey.getCompositeModulusN());
+            return new PaillierNonce(s, s.modPow(publicKey.getCompositeModulusN(), publicKey.getCompositeModulusNSquared()));
+        });
+    }
+
+    public LinearRegressionBatch(PaillierPublicKey publicKey, double[] theta, Executor encryptExecutor, Executor evaluateExecutor, int chunkRows, int maxChunksInFlight, PaillierNoncePool noncePool) {
+        // taking the rerandomizers from a pool of the same key, which moves their exponentiations off the evaluating threads
+        this(publicKey, theta, encryptExecutor, evaluateExecutor, chunkRows, maxChunksInFlight, checkedPool(publicKey, noncePool));
+    }
+
+    private LinearRegressionBatch(PaillierPublicKey publicKey, double[] theta, Executor encryptExecutor, Executor evaluateExecutor, int chunkRows, int maxChunksInFlight, Supplier<PaillierNonce> nonces) {
+        if (theta.length < 1 || chunkRows < 1 || maxChunksInFlight < 1)
+            throw new IllegalArgumentException("theta must not be empty and chunkRows and maxChunksInFlight must be positive");
+        this.publicKey = publicKey;
+        this.nonces = nonces;
+        this.features = theta.length - 1;
+        this.encryptExecutor = encryptExecutor;
+        this.evaluateExecutor = evaluateExecutor;
+        this.chunkRows = chunkRows;
+        this.maxChunksInFlight = maxChunksInFlight;
+        this.dotProduct = new HomomorphicDotProduct(publicKey);
+        this.codec = CiphertextCodec.forPaillier(publicKey);
+
+        this.fixedPoint = new FixedPointCodec(publicKey.getCompositeModulusN());
+
+        // encoding theta, the plaintext encoded theta0 * encoded 1 is the same for every row so it is computed once
+        // and only the non-zero encoded theta[i+1] are kept
+        this.theta = theta.clone();
+        long[] encodedTheta = new long[this.features];
+        this.fixedPoint.encode(theta, 1, encodedTheta, 0, this.features);
+        this.encodedTheta = SparseVector.fromDense(encodedTheta);
+        this.theta0Term = this.fixedPoint.toPlaintext(this.fixedPoint.encode(theta[0])).multiply(BigInteger.valueOf(this.fixedPoint.encode(1))).mod(publicKey.getCompositeModulusN());
+    }
+
+    private static Supplier<PaillierNonce> checkedPool(PaillierPublicKey publicKey, PaillierNoncePool noncePool) {
+        if (!noncePool.getPublicKey().getCompositeModulusN().equals(publicKey.getCompositeModulusN()))
+            throw new IllegalArgumentException("the nonce pool was built for a different key");
+        return noncePool::take;
+    }
+
+    public int getFeatureCount() {
+        return this.features;
+    }
+
+    public Report run(Path featureFile, Path resultFile) throws IOException {
+        Report report = new Report();
+        long start = System.nanoTime();
+        try (FeatureReader reader = openFeatures(featureFile);
+             DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(resultFile), 1 << 16))) {
+            if (reader.getFeatureCount() != this.features)
+                throw new IOException(featureFile + " has " + reader.getFeatureCount() + " features but theta has " + this.features);
+            output.writeInt(RESULTS_MAGIC);
+            output.writeInt(VERSION);
+            CiphertextCodec.writeBigInteger(output, this.publicKey.getCompositeModulusN());
+
+            // at most maxChunksInFlight chunks are read but not yet written, which keeps memory constant in the number
+            // of rows, and the oldest chunk is written first so the results stay in input order
+            ArrayDeque<CompletableFuture<BigInteger[]>> window = new ArrayDeque<>();
+            while (true) {
+                long readStart = System.nanoTime();
+                double[][] chunk = new double[this.chunkRows][];
+                int rows = reader.read(chunk);
+                report.readNanos.add(System.nanoTime() - readStart);
+                if (rows == 0)
+                    break;
+                report.rows.add(rows);
+
+                window.add(CompletableFuture
+                        .supplyAsync(() -> this.encryptChunk(chunk, rows, report), this.encryptExecutor)
+                        .thenApplyAsync(encrypted -> this.evaluateChunk(encrypted, report), this.evaluateExecutor));
+                if (window.size() >= this.maxChunksInFlight)
+                    this.writeChunk(window.poll(), output, report);
+            }
+            while (!window.isEmpty()) {
+                this.writeChunk(window.poll(), output, report);
+            }
+        }
+        report.wallNanos = System.nanoTime() - start;
+        return report;
+    }
+
+    private BigInteger[][] encryptChunk(double[][] chunk, int rows, Report report) {
+        // Alice's side, Enc(encoded x) for every feature of every row, each with its own random r
+        long start = System.nanoTime();
+        BigInteger n = this.publicKey.getCompositeModulusN();
+        BigInteger[][] encrypted = new BigInteger[rows][this.features];
+        long[] encoded = new long[this.features];
+        for (int row = 0; row < rows; row++) {
+            // rejecting rows whose result could reach n/2 at the scale 2^60 of the products, they would decode wrongly
+            double bound = Math.abs(this.theta[0]);
+            for (int i = 0; i < this.features; i++) {
+                bound += Math.abs(chunk[row][i] * this.theta[i + 1]);
+            }
+            if (!this.fixedPoint.fits(bound, 2))
+                throw new ArithmeticException("the result of a row with |f(θ, x)| up to " + bound + " overflows n");
+            this.fixedPoint.encode(chunk[row], encoded);
+            for (int i = 0; i < this.features; i++) {
+                encrypted[row][i] = this.publicKey.encryption(this.fixedPoint.toPlaintext(encoded[i]), RandomSource.unit(n));
+            }
+        }
+        report.encryptNanos.add(System.nanoTime() - start);
+        return encrypted;
+    }
+
+    private BigInteger[] evaluateChunk(BigInteger[][] encrypted, Report report) {
+        // Bob's side, Enc(f(θ, x)) = Enc(encoded theta0 * encoded 1) * product of Enc(encoded x[i])^(encoded theta[i+1]),
+        // where the product runs over the non-zero theta only and the intercept is encrypted per row with a fresh s^n,
+        // which is the rerandomization of the row at the price of a single extra multiplication
+        long start = System.nanoTime();
+        BigInteger[] results = new BigInteger[encrypted.length];
+        for (int row = 0; row < encrypted.length; row++) {
+            BigInteger dot = this.dotProduct.compute(encrypted[row], this.encodedTheta);
+            results[row] = this.publicKey.homomorphicAddition(this.publicKey.encryption(this.theta0Term, this.nonces.get()), dot);
+        }
+        report.evaluateNanos.add(System.nanoTime() - start);
+        return results;
+    }
+
+    private void writeChunk(CompletableFuture<BigInteger[]> future, DataOutputStream output, Report report) throws IOException {
+        BigInteger[] results;
+        try {
+            results = future.join();
+        }
+        catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw e;
+        }
+        long start = System.nanoTime();
+        ByteBuffer buffer = ByteBuffer.allocate(results.length * this.codec.getWidth());
+        for (BigInteger result : results) {
+            this.codec.encode(result, buffer);
+        }
+        output.write(buffer.array(), 0, buffer.position());
+        report.writeNanos.add(System.nanoTime() - start);
+    }
+
+    public static final class Report {
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder readNanos = new LongAdder(), encryptNanos = new LongAdder(), evaluateNanos = new LongAdder(), writeNanos = new LongAdder();
+        private long wallNanos;
+
+        public long getRows() {
+            return this.rows.sum();
+        }
+
+        public long getWallNanos() {
+            return this.wallNanos;
+        }
+
+        @Override
+        public String toString() {
+            // the busy time of a stage is summed over all its threads, so rows per busy second is the throughput of one
+            // thread of that stage, while the overall rate is measured against the wall clock
+            long rows = this.getRows();
+            StringBuilder builder = new StringBuilder();
+            builder.append(String.format("%-10s %12s %14s%n", "stage", "busy ms", "rows/s/thread"));
+            appendStage(builder, "read", this.readNanos.sum(), rows);
+            appendStage(builder, "encrypt", this.encryptNanos.sum(), rows);
+            appendStage(builder, "evaluate", this.evaluateNanos.sum(), rows);
+            appendStage(builder, "write", this.writeNanos.sum(), rows);
+            builder.append(String.format("%d rows in %d ms, %.1f rows/s overall", rows, this.wallNanos / 1_000_000, rows * 1e9 / Math.max(1, this.wallNanos)));
+            return builder.toString();
+        }
+
+        private static void appendStage(StringBuilder builder, String stage, long nanos, long rows) {
+            builder.append(String.format("%-10s %12d %14.1f%n", stage, nanos / 1_000_000, rows * 1e9 / Math.max(1, nanos)));
+        }
+    }
+
+    interface FeatureReader extends Closeable {
+        int getFeatureCount();
+
+        // fills chunk with up to chunk.length rows and returns how many were read, 0 at the end of the file
+        int read(double[][] chunk) throws IOException;
+    }
+
+    static FeatureReader openFeatures(Path path) throws IOException {
+        // files ending in .csv hold one row of comma separated features per line, anything else is the binary format
+        if (path.getFileName().toString().toLowerCase().endsWith(".csv"))
+            return new CsvFeatureReader(Files.newBufferedReader(path));
+        return new BinaryFeatureReader(new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16)));
+    }
+
+    private static final class CsvFeatureReader implements FeatureReader {
+        private final BufferedReader reader;
+        private String pending;
+        private final int features;
+
+        CsvFeatureReader(BufferedReader reader) throws IOException {
+            this.reader = reader;
+            this.pending = this.nextLine();
+            this.features = this.pending == null ? 0 : this.pending.split(",").length;
+        }
+
+        private String nextLine() throws IOException {
+            String line;
+            while ((line = this.reader.readLine()) != null && line.isBlank()) {
+            }
+            return line;
+        }
+
+        @Override
+        public int getFeatureCount() {
+            return this.features;
+        }
+
+        @Override
+        public int read(double[][] chunk) throws IOException {
+            int rows = 0;
+            while (rows < chunk.length && this.pending != null) {
+                String[] values = this.pending.split(",");
+                if (values.length != this.features)
+                    throw new IOException("expected " + this.features + " features but got " + values.length + " in line: " + this.pending);
+                chunk[rows] = new double[this.features];
+                for (int i = 0; i < this.features; i++) {
+                    chunk[rows][i] = Double.parseDouble(values[i].trim());
+                }
+                rows++;
+                this.pending = this.nextLine();
+            }
+            return rows;
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.reader.close();
+        }
+    }
+
+    private static final class BinaryFeatureReader implements FeatureReader {
+        private final DataInputStream input;
+        private final int features;
+
+        BinaryFeatureReader(DataInputStream input) throws IOException {
+            this.input = input;
+            if (input.readInt() != FEATURES_MAGIC || input.readInt() != VERSION)
+                throw new IOException("not a feature file of version " + VERSION);
+            this.features = input.readInt();
+        }
+
+        @Override
+        public int getFeatureCount() {
+            return this.features;
+        }
+
+        @Override
+        public int read(double[][] chunk) throws IOException {
+            int rows = 0;
+            while (rows < chunk.length) {
+                double[] row = new double[this.features];
+                try {
+                    row[0] = this.input.readFloat();
+                }
+                catch (EOFException e) {
+                    break;
+                }
+                for (int i = 1; i < this.features; i++) {
+                    row[i] = this.input.readFloat();
+                }
+                chunk[rows++] = row;
+            }
+            return rows;
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.input.close();
+        }
+    }
+
+    public static void generateFeatures(Path path, long rows, int features) throws IOException {
+        // random features in [-10, 10) in the binary format, for throughput testing
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16))) {
+            output.writeInt(FEATURES_MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(features);
+            for (long row = 0; row < rows; row++) {
+                for (int i = 0; i < features; i++) {
+                    output.writeFloat(RandomSource.current().nextFloat() * 20F - 10F);
+                }
+            }
+        }
+    }
+
+    public static void decryptResults(PaillierPrivateKey privateKey, Path resultFile, Path csvFile) throws IOException {
+        // Alice's side, decrypting and decoding every result row into one value per line
+        BigInteger n = privateKey.getPublicKey().getCompositeModulusN();
+        FixedPointCodec fixedPoint = new FixedPointCodec(n);
+        CiphertextCodec codec = CiphertextCodec.forPaillier(privateKey.getPublicKey());
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(resultFile), 1 << 16));
+             BufferedWriter writer = Files.newBufferedWriter(csvFile)) {
+            if (input.readInt() != RESULTS_MAGIC || input.readInt() != VERSION)
+                throw new IOException(resultFile + " is not a result file of version " + VERSION);
+            if (!CiphertextCodec.readBigInteger(input, codec.getWidth()).equals(n))
+                throw new IOException(resultFile + " was encrypted under a different key");
+            byte[] record = new byte[codec.getWidth()];
+            while (input.read(record, 0, 1) == 1) {
+                input.readFully(record, 1, record.length - 1);
+                // the result carries the scale of two encoded values, values above n/2 are negative results n - |v|
+                BigInteger encoded = privateKey.decryptionCRT(codec.decode(ByteBuffer.wrap(record)));
+                writer.write(String.format(Locale.ROOT, "%.6f", fixedPoint.decode(encoded, 2)));
+                writer.newLine();
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: LinearRegressionBatch generate <feature file> <rows> <features>");
+            System.out.println("       LinearRegressionBatch score <feature file (.csv or binary)> <result file> <theta0,theta1,...> [key cache directory] [modulus bits]");
+            System.out.println("       LinearRegressionBatch decrypt <result file> <output csv> [key cache directory] [modulus bits]");
+            return;
+        }
+        switch (args[0]) {
+            case "generate" -> generateFeatures(Paths.get(args[1]), Long.parseLong(args[2]), Integer.parseInt(args[3]));
+            case "score" -> {
+                PaillierPrivateKey privateKey = cachedKey(args, 4);
+                String[] values = args[3].split(",");
+                double[] theta = new double[values.length];
+                for (int i = 0; i < values.length; i++) {
+                    theta[i] = Double.parseDouble(values[i].trim());
+                }
+
+                // one pool of workers for each of the two compute stages, both sized to the machine
+                int parallelism = Runtime.getRuntime().availableProcessors();
+                ExecutorService encryptors = Executors.newFixedThreadPool(parallelism);
+                ExecutorService evaluators = Executors.newFixedThreadPool(parallelism);
+                try {
+                    LinearRegressionBatch batch = new LinearRegressionBatch(privateKey.getPublicKey(), theta, encryptors, evaluators, 64, 4 * parallelism);
+                    System.out.println(batch.run(Paths.get(args[1]), Paths.get(args[2])));
+                }
+                finally {
+                    encryptors.shutdown();
+                    evaluators.shutdown();
+                }
+            }
+            case "decrypt" -> decryptResults(cachedKey(args, 3), Paths.get(args[1]), Paths.get(args[2]));
+            default -> System.out.println("Unknown command " + args[0]);
+        }
+    }
+
+    private static PaillierPrivateKey cachedKey(String[] args, int position) throws IOException {
+        Path directory = Paths.get(args.length > position ? args[position] : "keys");
+        int modulusBits = args.length > position + 1 ? Integer.parseInt(args[position + 1]) : 2048;
+        return new KeyCache(directory, new PrimeGenerator()).paillierKey(modulusBits);
+    }
+}
@@ -1,11 +1,12 @@
-import java.math.BigDecimal;
+package cryptography;
+
 import java.math.BigInteger;
-import java.math.RoundingMode;
-import java.util.Random;
 import java.util.Scanner;
 
 public class LinearRegressionPaillier {
-    private BigInteger p, q, n, g, lambda;
+    private BigInteger p, q;
+    // the key pair derived from p and q at key generation, shared with other Paillier classes through get/setPrivateKey
+    private PaillierPrivateKey privateKey;
 
     public void setFirstPrimeP(BigInteger p) {
         this.p = p;
@@ -15,16 +16,10 @@ public class LinearRegressionPaillier {
         this.q = q;
     }
 
-    public void setCompositeModulusN(BigInteger n) {
-        this.n = n;
-    }
-
-    public void setEncryptionExponentLambda(BigInteger lambda) {
-        this.lambda = lambda;
-    }
-
-    public void setGeneratorG(BigInteger g) {
-        this.g = g;
+    public void setPrivateKey(PaillierPrivateKey privateKey) {
+        this.privateKey = privateKey;
+        this.p = privateKey.getFirstPrimeP();
+        this.q = privateKey.getSecondPrimeQ();
     }
 
     public BigInteger getFirstPrimeP() {
@@ -35,93 +30,68 @@ public class LinearRegressionPaillier {
         return q;
     }
 
-    public BigInteger getCompositeModulusN() {
-        return this.n;
+    public PaillierPrivateKey getPrivateKey() {
+        return this.privateKey;
     }
 
-    public BigInteger getEncryptionExponentLambda() {
-        return this.lambda;
+    public PaillierPublicKey getPublicKey() {
+        return this.privateKey.getPublicKey();
     }
 
-    public BigInteger getGeneratorG() {
-        return this.g;
+    public BigInteger getCompositeModulusN() {
+        return this.getPublicKey().getCompositeModulusN();
     }
 
-    public BigInteger generateRandomBigIntegerNumber(BigInteger lowerLimit, BigInteger upperLimit) {
-        BigInteger range = upperLimit.subtract(lowerLimit);
-        Random randomVariable = new Random();
-        int lengthOfRandomNumber = upperLimit.bitLength();
-        BigInteger result = new BigInteger(lengthOfRandomNumber, randomVariable);
-        if (result.compareTo(lowerLimit) < 0)
-            result = result.add(lowerLimit);
-        if (result.compareTo(range) >= 0)
-            result = result.mod(range).add(lowerLimit);
+    public BigInteger getEncryptionExponentLambda() {
+        return this.privateKey.getEncryptionExponentLambda();
+    }
 
-        return result;
+    public BigInteger getGeneratorG() {
+        return this.getPublicKey().getGeneratorG();
     }
 
     public void keyGeneration() {
-        // calculating n = p * q
-        this.setCompositeModulusN(this.p.multiply(this.q));
-
-        // calculating lambda = LCM(p-1, q-1)
-        // setting num1 = p - 1 and num2 = q - 1
-        BigInteger num1 = this.p.subtract(BigInteger.ONE);
-        BigInteger num2 = this.q.subtract(BigInteger.ONE);
-
-        // calculating GCD of num1 and num2
-        BigInteger gcd = num1.gcd(num2);
-
-        // set lambda through the LCM formula
-        // LCM * GCD = num1 * num2
-        // LCM = (num1 * num2) / GCD
-        this.setEncryptionExponentLambda((num1.multiply(num2)).divide(gcd));
-
-        // setting g = n + 1
-        this.setGeneratorG(this.n.add(BigInteger.ONE));
+        // calculating n = p * q, lambda = LCM(p-1, q-1), g = n + 1 and the values cached for decryption
+        this.privateKey = new PaillierPrivateKey(this.p, this.q);
     }
 
     public BigInteger encryption(BigInteger m, BigInteger r) {
-        // get the values of g and n
-        BigInteger g = this.getGeneratorG();
-        BigInteger n = this.getCompositeModulusN();
-
         // calculating ciphertext c = (g^m * r^n) mod n^2
-        BigInteger c = ((g.modPow(m, n.multiply(n))).multiply(r.modPow(n, n.multiply(n)))).mod(n.multiply(n));
+        return this.getPublicKey().encryption(m, r);
+    }
 
-        return c;
+    public BigInteger encryption(BigInteger m, PaillierNonce nonce) {
+        // calculating ciphertext c = (g^m * r^n) mod n^2 with a precomputed r^n mod n^2
+        return this.getPublicKey().encryption(m, nonce);
     }
 
     public BigInteger decryption(BigInteger c) {
-        // get the values of g and n
-        BigInteger g = this.getGeneratorG();
-        BigInteger n = this.getCompositeModulusN();
-        // get the value of lambda
-        BigInteger lambda = this.getEncryptionExponentLambda();
-
-        // calculating S = L(c^lambda mod n^2) where L(x) = (x-1)/n
-        BigInteger S = ((c.modPow(lambda, n.multiply(n)).subtract(BigInteger.ONE)).divide(n)).mod(n);
-
-        // calculating modular multiplicative inverse mu = (L(g^lambda mod n2))^(-1) mod n
-        BigInteger mu = ((g.modPow(lambda, n.multiply(n)).subtract(BigInteger.ONE)).divide(n)).modPow(BigInteger.valueOf(-1), n);
-
-        // calculating the decrypted plaintext md = (S * mu) mod n
-        BigInteger md = (S.multiply(mu)).mod(n);
+        // calculating the decrypted plaintext md = (L(c^lambda mod n^2) * mu) mod n
+        return this.privateKey.decryption(c);
+    }
 
-        return md;
+    public BigInteger decryptionCRT(BigInteger c) {
+        // calculating the decrypted plaintext md through CRT over p^2 and q^2
+        return this.privateKey.decryptionCRT(c);
     }
 
-    public static BigInteger encoding(Float input) {
-        // accepting a float input value, converting it to BigDecimal, then multiplying the BigDecimal input by 2^30,
-        // then performing a floor function on the resulting BigDecimal value to remove any decimals and returning the result by
-        // converting it into BigInteger
-        // BigInteger(Floor(BigDecimal(Float input) * 2^30))
-        return ((BigDecimal.valueOf(input)).multiply(BigDecimal.TWO.pow(30)).setScale(0, RoundingMode.FLOOR)).toBigInteger();
+    public static BigInteger encoding(double input) {
+        // accepting a floating point input value and returning floor(input * 2^30), a negative result is mapped to
+        // n - |v| by the encryption, see FixedPointCodec for encoding whole vectors without boxing
+        return BigInteger.valueOf(FixedPointCodec.scale(input, FixedPointCodec.DEFAULT_FRACTION_BITS));
     }
 
-    public static BigDecimal decoding(BigDecimal input) {
-        // accepting a BigDecimal input, dividing it by 2^30, rounding the final result to 6 decimal places and returning the result
-        return input.divide(BigDecimal.TWO.pow(30), 6, RoundingMode.HALF_UP);
+    public BigInteger evaluation(BigInteger encryptedEncodedTheta0, BigInteger[] encryptedX, BigInteger[] encodedTheta) {
+        BigInteger nSquared = this.getPublicKey().getCompositeModulusNSquared();
+        // encoding the value of 1
+        BigInteger encodedOne = encoding(1F);
+        // multiplying Enc[theta0] by encoded value of 1 and assigning it as the starting point of the result
+        BigInteger encryptedEncodedResult = encryptedEncodedTheta0.modPow(encodedOne, nSquared);
+        // multiplying in product of Enc(encoded x[i])^(encoded theta[i+1]), where zero weights are skipped and
+        // negative weights share a single inversion, see HomomorphicDotProduct
+        SparseVector weights = SparseVector.fromDense(encodedTheta, 1, encodedTheta.length);
+        BigInteger encryptedEncodedDotProduct = new HomomorphicDotProduct(this.getPublicKey()).compute(encryptedX, weights);
+        return encryptedEncodedResult.multiply(encryptedEncodedDotProduct).mod(nSquared);
     }
 
     public static void main(String[] args) {
@@ -183,12 +153,9 @@ public class LinearRegressionPaillier {
 
         System.out.println();
 
-        System.out.println("---------- Generating a random value for r ----------");
-        // generating a random number r between [1, n-1]
-        BigInteger r = paillier.generateRandomBigIntegerNumber(BigInteger.ONE, paillier.getCompositeModulusN().subtract(BigInteger.ONE));
-        System.out.println("The random number is r = " + r);
-
-        System.out.println();
+        // starting a pool of worker threads which precompute fresh (r, r^n mod n^2) pairs so that
+        // every encrypted value gets its own random r
+        PaillierNoncePool noncePool = new PaillierNoncePool(paillier.getPublicKey(), Math.max(2, l + 1), 0, Runtime.getRuntime().availableProcessors());
 
         // Encryption
         // Generating encrypted values for encoded inputs of Alice Enc(encoded xi)
@@ -198,7 +165,7 @@ public class LinearRegressionPaillier {
         System.out.println("Encrypted vector Enc(encoded x): ");
         System.out.print("[");
         for(int i=0 ; i<l ; i++) {
-            encryptedX[i] = paillier.encryption(encodedX[i], r);
+            encryptedX[i] = paillier.encryption(encodedX[i], noncePool.take());
             System.out.print(encryptedX[i]);
             if(i!=(l-1)) {
                 System.out.println(", ");
@@ -209,8 +176,9 @@ public class LinearRegressionPaillier {
 
         // Generating encrypted value for first encoded input of Bob Enc(encoded theta0)
         System.out.println("---------- Encryption of encoded theta0 ----------");
-        BigInteger encryptedEncodedTheta0 = paillier.encryption(encodedTheta[0], r);
+        BigInteger encryptedEncodedTheta0 = paillier.encryption(encodedTheta[0], noncePool.take());
         System.out.println("Encrypted Encoded theta0 Enc[encoded theta0] is = " + encryptedEncodedTheta0);
+        noncePool.close();
         System.out.println();
 
         // Performing linear regression through homomorphic properties of Paillier Encryption
@@ -223,29 +191,24 @@ public class LinearRegressionPaillier {
         // multiplication of two encoded values, that is [encoded x[i] * encoded theta[i+1]]. I am using 1 for multiplication
         // as it does not change the value of theta0, that is Enc[value]^1 = Enc[value*1] = Enc[value] in Paillier Encryption
         System.out.println("---------- Performing Linear Regression ----------");
-        BigInteger n = paillier.getCompositeModulusN();
-        // encoding the value of 1
-        BigInteger encodedOne = encoding(1F);
-        // multiplying Enc[theta0] by encoded value of 1 and assigning it as the starting point of the variable encryptedEncodedResult
-        BigInteger encryptedEncodedResult = encryptedEncodedTheta0.modPow(encodedOne, n.multiply(n));
-        for(int i=0 ; i<l ; i++) {
-            encryptedEncodedResult = encryptedEncodedResult.multiply(encryptedX[i].modPow(encodedTheta[i+1], n.multiply(n)));
-        }
+        BigInteger encryptedEncodedResult = paillier.evaluation(encryptedEncodedTheta0, encryptedX, encodedTheta);
         System.out.println("Encrypted Encoded result Enc(encoded f(θ, x)) = " + encryptedEncodedResult);
 
         System.out.println();
 
         System.out.println("-------------------- Decryption --------------------");
         // Decrypting encrypted encoded result to encoded result
-        BigInteger decryptedEncodedResult = paillier.decryption(encryptedEncodedResult);
+        BigInteger decryptedEncodedResult = paillier.decryptionCRT(encryptedEncodedResult);
         System.out.println("Decrypted Encoded result Encoded f(θ, x): " + decryptedEncodedResult);
 
         System.out.println();
 
         System.out.println("-------------------- Decoding --------------------");
-        // Decoding encoded result twice to get the actual value of the function
-        BigDecimal decryptedDecodedResult = decoding(decoding(new BigDecimal(decryptedEncodedResult)));
-        System.out.println("Decrypted Decoded final result f(θ, x) = " + decryptedDecodedResult);
+        // Decoding encoded result twice to get the actual value of the function, that is dividing by 2^30 * 2^30,
+        // where values above n/2 are the negative results n - |v|
+        FixedPointCodec codec = new FixedPointCodec(paillier.getCompositeModulusN());
+        double decryptedDecodedResult = codec.decode(decryptedEncodedResult, 2);
+        System.out.printf("Decrypted Decoded final result f(θ, x) = %.6f%n", decryptedDecodedResult);
 
     }
 }
@@ -0,0 +1,124 @@
+package cryptography;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class MappedPIRDatabase implements PIRDatabase, AutoCloseable {
+    // file layout: magic, version, rows, columns and record width as big-endian ints followed by the
+    // records in row-major order, each one an unsigned fixed width big-endian integer
+    static final int MAGIC = 0x50495244, VERSION = 1, HEADER_BYTES = 20;
+    // every mapped segment holds whole rows and stays below the 2 GB limit of a single MappedByteBuffer
+    private static final long MAX_SEGMENT_BYTES = 1L << 30;
+
+    private final FileChannel channel;
+    private final int rows, columns, recordBytes, rowsPerSegment;
+    private final MappedByteBuffer[] segments;
+
+    private MappedPIRDatabase(FileChannel channel, int rows, int columns, int recordBytes) throws IOException {
+        this.channel = channel;
+        this.rows = rows;
+        this.columns = columns;
+        this.recordBytes = recordBytes;
+
+        long rowBytes = (long) columns * recordBytes;
+        if (rowBytes > MAX_SEGMENT_BYTES)
+            throw new IOException("a single row of " + rowBytes + " bytes does not fit in one mapping");
+        this.rowsPerSegment = rowBytes == 0 ? Math.max(rows, 1) : (int) Math.min(Integer.MAX_VALUE, MAX_SEGMENT_BYTES / rowBytes);
+        int segmentCount = rows == 0 ? 0 : (rows + this.rowsPerSegment - 1) / this.rowsPerSegment;
+        this.segments = new MappedByteBuffer[segmentCount];
+        for (int s = 0; s < segmentCount; s++) {
+            int segmentRows = Math.min(this.rowsPerSegment, rows - s * this.rowsPerSegment);
+            this.segments[s] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES + (long) s * this.rowsPerSegment * rowBytes, segmentRows * rowBytes);
+        }
+    }
+
+    public static MappedPIRDatabase open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0)
+                    throw new IOException(path + " is too short to be a PIR database");
+            }
+            header.flip();
+            if (header.getInt() != MAGIC)
+                throw new IOException(path + " is not a PIR database");
+            int version = header.getInt();
+            if (version != VERSION)
+                throw new IOException(path + " has unsupported version " + version);
+            int rows = header.getInt(), columns = header.getInt(), recordBytes = header.getInt();
+            if (rows < 0 || columns < 0 || recordBytes < 1)
+                throw new IOException(path + " has an invalid header");
+            long expectedSize = HEADER_BYTES + (long) rows * columns * recordBytes;
+            if (channel.size() != expectedSize)
+                throw new IOException(path + " has " + channel.size() + " bytes but its header describes " + expectedSize);
+
+            return new MappedPIRDatabase(channel, rows, columns, recordBytes);
+        }
+        catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public int getRecordBytes() {
+        return this.recordBytes;
+    }
+
+    @Override
+    public int getRowCount() {
+        return this.rows;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return this.columns;
+    }
+
+    @Override
+    public int getMaxRecordBits() {
+        return this.recordBytes * 8;
+    }
+
+    @Override
+    public BigInteger getRecord(int row, int column) {
+        byte[] bytes = new byte[this.recordBytes];
+        this.segment(row).get(this.position(row, column), bytes);
+        return new BigInteger(1, bytes);
+    }
+
+    @Override
+    public BigInteger multiExponentiateRow(MultiExponentiation multiExponentiation, BigInteger[] bases, int row, int from, int to) {
+        // reading the exponents straight out of the mapping without creating a BigInteger per record
+        return multiExponentiation.compute(bases, this.segment(row), this.position(row, from), this.recordBytes, from, to);
+    }
+
+    @Override
+    public BigInteger fixedBaseExponentiateRow(FixedBaseExponentiation[] tables, int row, int from, int to) {
+        ByteBuffer segment = this.segment(row);
+        int position = this.position(row, from);
+        BigInteger result = BigInteger.ONE;
+        for (int j = from; j < to; j++) {
+            result = tables[j].multiplyByPower(result, segment, position + (j - from) * this.recordBytes, this.recordBytes);
+        }
+        return result;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    private ByteBuffer segment(int row) {
+        return this.segments[row / this.rowsPerSegment];
+    }
+
+    private int position(int row, int column) {
+        return ((row % this.rowsPerSegment) * this.columns + column) * this.recordBytes;
+    }
+}
@@ -0,0 +1,146 @@
+package cryptography;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public class MultiExponentiation {
+    private final BigInteger modulus;
+    private final BarrettReducer reducer;
+
+    public MultiExponentiation(BigInteger modulus) {
+        this.modulus = modulus;
+        this.reducer = new BarrettReducer(modulus);
+    }
+
+    public BigInteger getModulus() {
+        return this.modulus;
+    }
+
+    public BigInteger compute(BigInteger[] bases, BigInteger[] exponents) {
+        if (bases.length != exponents.length)
+            throw new IllegalArgumentException("expected " + bases.length + " exponents but got " + exponents.length);
+        return this.compute(bases, exponents, 0, bases.length);
+    }
+
+    public BigInteger compute(BigInteger[] bases, BigInteger[] exponents, int from, int to) {
+        // negative exponents are handled by inverting their base
+        BigInteger[] b = new BigInteger[to - from];
+        BigInteger[] e = new BigInteger[to - from];
+        int maxBits = 0;
+        for (int j = 0; j < b.length; j++) {
+            if (exponents[from + j].signum() < 0) {
+                b[j] = bases[from + j].modInverse(this.modulus);
+                e[j] = exponents[from + j].negate();
+            }
+            else {
+                b[j] = bases[from + j].mod(this.modulus);
+                e[j] = exponents[from + j];
+            }
+            maxBits = Math.max(maxBits, e[j].bitLength());
+        }
+
+        return this.pippenger(b, 0, b.length, (j, offset, width) -> digit(e[j], offset, width), maxBits);
+    }
+
+    public BigInteger compute(BigInteger[] bases, ByteBuffer records, int position, int recordBytes, int from, int to) {
+        // the exponents are unsigned fixed width big-endian records where the exponent of bases[j]
+        // starts at position + (j - from) * recordBytes, the bases are expected to be reduced already
+        int maxBits = 0;
+        for (int j = 0; j < to - from; j++) {
+            int recordStart = position + j * recordBytes;
+            for (int k = 0; k < recordBytes; k++) {
+                int value = records.get(recordStart + k) & 0xFF;
+                if (value != 0) {
+                    maxBits = Math.max(maxBits, (recordBytes - k - 1) * 8 + 32 - Integer.numberOfLeadingZeros(value));
+                    break;
+                }
+            }
+        }
+
+        return this.pippenger(bases, from, to - from, (j, offset, width) -> digit(records, position + j * recordBytes, recordBytes, offset, width), maxBits);
+    }
+
+    private BigInteger pippenger(BigInteger[] b, int baseOffset, int count, ExponentDigits e, int maxBits) {
+        if (maxBits == 0)
+            return BigInteger.ONE.mod(this.modulus);
+
+        // calculating product over j of b[j]^e[j] mod modulus with the Pippenger bucket method
+        // every c-bit window shares its squarings across all bases and collects each base into the bucket of its digit
+        int c = chooseWindowSize(count, maxBits);
+        int windows = (maxBits + c - 1) / c;
+        BigInteger[] buckets = new BigInteger[1 << c];
+        BigInteger result = null;
+        for (int w = windows - 1; w >= 0; w--) {
+            if (result != null) {
+                for (int s = 0; s < c; s++) {
+                    result = this.reducer.multiply(result, result);
+                }
+            }
+
+            // adding every base to the bucket of its digit in this window
+            Arrays.fill(buckets, null);
+            for (int j = 0; j < count; j++) {
+                int digit = e.digit(j, w * c, c);
+                if (digit != 0) {
+                    BigInteger base = b[baseOffset + j];
+                    buckets[digit] = buckets[digit] == null ? base : this.reducer.multiply(buckets[digit], base);
+                }
+            }
+
+            // calculating product over d of buckets[d]^d through running products from the highest digit down
+            BigInteger running = null, windowProduct = null;
+            for (int d = buckets.length - 1; d >= 1; d--) {
+                if (buckets[d] != null) {
+                    running = running == null ? buckets[d] : this.reducer.multiply(running, buckets[d]);
+                }
+                if (running != null) {
+                    windowProduct = windowProduct == null ? running : this.reducer.multiply(windowProduct, running);
+                }
+            }
+
+            if (windowProduct != null) {
+                result = result == null ? windowProduct : this.reducer.multiply(result, windowProduct);
+            }
+        }
+
+        return result == null ? BigInteger.ONE.mod(this.modulus) : result;
+    }
+
+    static int chooseWindowSize(int bases, int exponentBits) {
+        // picking the window c minimizing ceil(bits / c) * (bases + 2^(c+1)) multiplications
+        int best = 1;
+        long bestCost = Long.MAX_VALUE;
+        for (int c = 1; c <= 16; c++) {
+            long cost = (long) ((exponentBits + c - 1) / c) * (bases + (2L << c));
+            if (cost < bestCost) {
+                bestCost = cost;
+                best = c;
+            }
+        }
+        return best;
+    }
+
+    private static int digit(BigInteger e, int offset, int width) {
+        int digit = 0;
+        for (int k = width - 1; k >= 0; k--) {
+            digit = (digit << 1) | (e.testBit(offset + k) ? 1 : 0);
+        }
+        return digit;
+    }
+
+    static int digit(ByteBuffer records, int recordStart, int recordBytes, int offset, int width) {
+        // bit k of a big-endian record lives in byte recordBytes - 1 - k / 8 counted from the start of the record
+        int digit = 0;
+        for (int k = Math.min(offset + width, recordBytes * 8) - 1; k >= offset; k--) {
+            int value = records.get(recordStart + recordBytes - 1 - (k >>> 3));
+            digit = (digit << 1) | ((value >>> (k & 7)) & 1);
+        }
+        return digit;
+    }
+
+    private interface ExponentDigits {
+        // returns the width bits of exponent j starting at bit offset
+        int digit(int j, int offset, int width);
+    }
+}
@@ -0,0 +1,168 @@
+package cryptography;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+public final class OTExtension {
+    // number of base OTs, which is also the width in bits of every extended row and of every message
+    public static final int KAPPA = 128;
+    public static final int MESSAGE_BYTES = KAPPA / 8;
+    // fixed public key of the AES permutation used for the correlation robust hash
+    private static final byte[] FIXED_KEY = {
+            0x3a, 0x51, 0x0b, 0x6f, 0x2c, 0x7e, 0x44, 0x19, 0x5d, 0x08, 0x63, 0x71, 0x1e, 0x27, 0x4b, 0x36};
+
+    private OTExtension() {
+    }
+
+    static Cipher generator(byte[] seed) {
+        // the PRG G(seed) is the AES-CTR key stream under the seed, one stream per base OT key continues across batches
+        try {
+            Cipher cipher = Cipher.getInstance("AES/CTR/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(seed, "AES"), new IvParameterSpec(new byte[16]));
+            return cipher;
+        }
+        catch (GeneralSecurityException e) {
+            throw new IllegalStateException("AES-CTR is not available", e);
+        }
+    }
+
+    static void expand(Cipher generator, byte[] zeros, byte[] output, int offset, int length) {
+        // encrypting zeros gives the raw key stream
+        try {
+            generator.update(zeros, 0, length, output, offset);
+        }
+        catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static Cipher fixedKeyPermutation() {
+        try {
+            Cipher cipher = Cipher.getInstance("AES/ECB/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(FIXED_KEY, "AES"));
+            return cipher;
+        }
+        catch (GeneralSecurityException e) {
+            throw new IllegalStateException("AES is not available", e);
+        }
+    }
+
+    static void hash(Cipher permutation, byte[] rows, byte[] offset, int count, long firstIndex, byte[] scratch, byte[] output) {
+        // calculating H(j, x) = pi(x xor j) xor x xor j for the rows x = rows[j] xor offset of the batch, where pi is
+        // fixed-key AES and j the global index of the OT, all rows of the batch go through AES in a single call
+        int length = count * MESSAGE_BYTES;
+        for (int j = 0; j < count; j++) {
+            int base = j * MESSAGE_BYTES;
+            long index = firstIndex + j;
+            for (int b = 0; b < MESSAGE_BYTES; b++) {
+                byte tweak = b < 8 ? (byte) (index >>> (8 * b)) : 0;
+                scratch[base + b] = (byte) (rows[base + b] ^ (offset == null ? 0 : offset[b]) ^ tweak);
+            }
+        }
+        try {
+            permutation.doFinal(scratch, 0, length, output, 0);
+        }
+        catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+        for (int k = 0; k < length; k++) {
+            output[k] ^= scratch[k];
+        }
+    }
+
+    static void transpose(byte[] columns, int count, byte[] rows) {
+        // transposing the KAPPA x count bit matrix stored as KAPPA columns of count / 8 bytes into count rows of
+        // KAPPA / 8 bytes, 8 x 8 bit blocks at a time, bit k of byte b of a column belongs to row 8b + k
+        int columnBytes = count / 8;
+        for (int c = 0; c < KAPPA; c += 8) {
+            for (int b = 0; b < columnBytes; b++) {
+                long x = 0;
+                for (int i = 0; i < 8; i++) {
+                    x |= (columns[(c + i) * columnBytes + b] & 0xFFL) << (8 * i);
+                }
+                x = transpose8(x);
+                for (int k = 0; k < 8; k++) {
+                    rows[(8 * b + k) * MESSAGE_BYTES + c / 8] = (byte) (x >>> (8 * k));
+                }
+            }
+        }
+    }
+
+    static long transpose8(long x) {
+        // transposing the 8 x 8 bit matrix with element (i, j) at bit 8i + j by swapping 2 x 2, 4 x 4 and 8 x 8 blocks
+        long t = (x ^ (x >>> 7)) & 0x00AA00AA00AA00AAL;
+        x = x ^ t ^ (t << 7);
+        t = (x ^ (x >>> 14)) & 0x0000CCCC0000CCCCL;
+        x = x ^ t ^ (t << 14);
+        t = (x ^ (x >>> 28)) & 0x00000000F0F0F0F0L;
+        return x ^ t ^ (t << 28);
+    }
+
+    static void checkBatch(int count) {
+        if (count < 8 || count % 8 != 0)
+            throw new IllegalArgumentException("the batch size must be a positive multiple of 8");
+    }
+
+    static byte[] seedBytes(BigInteger seed) {
+        // a KAPPA bit seed transferred by a base OT as a fixed width big-endian array
+        byte[] bytes = seed.toByteArray();
+        byte[] result = new byte[MESSAGE_BYTES];
+        int length = Math.min(bytes.length, MESSAGE_BYTES);
+        System.arraycopy(bytes, bytes.length - length, result, MESSAGE_BYTES - length, length);
+        return result;
+    }
+
+    static boolean bit(byte[] bits, int index) {
+        return ((bits[index >>> 3] >>> (index & 7)) & 1) != 0;
+    }
+
+    public static void main(String[] args) {
+        // running base OTs with a generated key and then a million extended OTs in batches, checking every output
+        int modulusBits = args.length > 0 ? Integer.parseInt(args[0]) : 2048;
+        long total = args.length > 1 ? Long.parseLong(args[1]) : 1 << 20;
+        int batch = args.length > 2 ? Integer.parseInt(args[2]) : 1 << 16;
+
+        System.out.println();
+        System.out.println("---------- Base OTs (" + KAPPA + " Paillier OTs, " + modulusBits + " bit modulus) ----------");
+        long start = System.nanoTime();
+        PaillierEncryption paillier = new PaillierEncryption();
+        paillier.keyGeneration(modulusBits, new PrimeGenerator());
+        OTExtensionSender sender = new OTExtensionSender(paillier.getPrivateKey());
+        OTExtensionReceiver receiver = new OTExtensionReceiver(paillier.getPublicKey());
+        sender.baseKeys(receiver.baseAnswers(sender.baseChoices()));
+        System.out.println("Base OTs took " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        System.out.println();
+
+        System.out.println("---------- Extending to " + total + " OTs in batches of " + batch + " ----------");
+        byte[] choices = new byte[batch / 8];
+        byte[] x0 = new byte[batch * MESSAGE_BYTES], x1 = new byte[batch * MESSAGE_BYTES];
+        byte[] y0 = new byte[batch * MESSAGE_BYTES], y1 = new byte[batch * MESSAGE_BYTES];
+        byte[] output = new byte[batch * MESSAGE_BYTES];
+        long failures = 0;
+        start = System.nanoTime();
+        for (long done = 0; done < total; done += batch) {
+            int count = (int) Math.min(batch, total - done) & ~7;
+            if (count == 0)
+                break;
+            RandomSource.current().nextBytes(choices);
+            RandomSource.current().nextBytes(x0);
+            RandomSource.current().nextBytes(x1);
+
+            // receiver -> sender: u, sender -> receiver: y0 and y1, the output of the batch is consumed right away
+            sender.extend(receiver.extend(choices, count), count);
+            sender.send(x0, x1, y0, y1);
+            receiver.receive(y0, y1, output);
+            for (int j = 0; j < count; j++) {
+                byte[] expected = bit(choices, j) ? x1 : x0;
+                if (!Arrays.equals(output, j * MESSAGE_BYTES, (j + 1) * MESSAGE_BYTES, expected, j * MESSAGE_BYTES, (j + 1) * MESSAGE_BYTES))
+                    failures++;
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Extended %d OTs in %.2f s (%.0f OTs/s), %d wrong outputs%n", total, seconds, total / seconds, failures);
+    }
+}
@@ -0,0 +1,107 @@
+package cryptography;
+
+import java.math.BigInteger;
+import javax.crypto.Cipher;
+
+import static cryptography.OTExtension.KAPPA;
+import static cryptography.OTExtension.MESSAGE_BYTES;
+
+public class OTExtensionReceiver {
+    // the receiver of the extended OTs is the sender of the KAPPA base OTs, so it only needs the public key
+    private final PaillierPublicKey senderPublicKey;
+    private final Cipher permutation = OTExtension.fixedKeyPermutation();
+    private Cipher[] generators0, generators1;
+    // global index of the first OT of the current batch, used as the tweak of the hash
+    private long index;
+    private int count;
+    private boolean pending;
+    private byte[] choices = new byte[0], zeros = new byte[0], columns = new byte[0], u = new byte[0], rows = new byte[0], scratch = new byte[0];
+
+    public OTExtensionReceiver(PaillierPublicKey senderPublicKey) {
+        this.senderPublicKey = senderPublicKey;
+    }
+
+    public long getIndex() {
+        return this.index;
+    }
+
+    public BigInteger[][] baseAnswers(BigInteger[] encryptedChoices) {
+        // acting as the sender of Paillier OT i with the two random KAPPA bit seeds [k_i^0, k_i^1] as messages
+        if (encryptedChoices.length != KAPPA)
+            throw new IllegalArgumentException("expected " + KAPPA + " encrypted base OT choices");
+        BigInteger n = this.senderPublicKey.getCompositeModulusN();
+        BigInteger nMinusOne = n.subtract(BigInteger.ONE);
+        BigInteger[][] answers = new BigInteger[KAPPA][];
+        this.generators0 = new Cipher[KAPPA];
+        this.generators1 = new Cipher[KAPPA];
+        for (int i = 0; i < KAPPA; i++) {
+            BigInteger[] seeds = {new BigInteger(KAPPA, RandomSource.current()), new BigInteger(KAPPA, RandomSource.current())};
+            BigInteger[] blinding = RandomSource.uniform(BigInteger.ONE, nMinusOne, 3);
+            answers[i] = OTPaillier.senderComputation(this.senderPublicKey, encryptedChoices[i], seeds, blinding[0], blinding[1], blinding[2]);
+            this.generators0[i] = OTExtension.generator(OTExtension.seedBytes(seeds[0]));
+            this.generators1[i] = OTExtension.generator(OTExtension.seedBytes(seeds[1]));
+        }
+        return answers;
+    }
+
+    public byte[] extend(byte[] choices, int count) {
+        OTExtension.checkBatch(count);
+        if (this.generators0 == null)
+            throw new IllegalStateException("the base OTs have not been run");
+        if (this.pending)
+            throw new IllegalStateException("the previous batch has not been received");
+        this.ensureCapacity(count);
+
+        // calculating the columns t_i = G(k_i^0) and u_i = t_i xor G(k_i^1) xor r for the choice bits r of the batch,
+        // u is sent to the sender and t transposed into the rows t_j kept for the output
+        int columnBytes = count / 8;
+        System.arraycopy(choices, 0, this.choices, 0, columnBytes);
+        for (int i = 0; i < KAPPA; i++) {
+            int offset = i * columnBytes;
+            OTExtension.expand(this.generators0[i], this.zeros, this.columns, offset, columnBytes);
+            OTExtension.expand(this.generators1[i], this.zeros, this.u, offset, columnBytes);
+            for (int k = 0; k < columnBytes; k++) {
+                this.u[offset + k] ^= (byte) (this.columns[offset + k] ^ choices[k]);
+            }
+        }
+        OTExtension.transpose(this.columns, count, this.rows);
+        this.count = count;
+        this.pending = true;
+
+        // the returned buffer is reused by the next batch
+        return this.u;
+    }
+
+    public void receive(byte[] y0, byte[] y1, byte[] output) {
+        // recovering x_j^(r_j) = y_j^(r_j) xor H(j, t_j)
+        this.random(output);
+        for (int j = 0; j < this.count; j++) {
+            byte[] y = OTExtension.bit(this.choices, j) ? y1 : y0;
+            int base = j * MESSAGE_BYTES;
+            for (int b = 0; b < MESSAGE_BYTES; b++) {
+                output[base + b] ^= y[base + b];
+            }
+        }
+    }
+
+    public void random(byte[] output) {
+        // random OT: the output is H(j, t_j), which equals the sender's x_j^(r_j)
+        if (!this.pending)
+            throw new IllegalStateException("no batch has been extended");
+        OTExtension.hash(this.permutation, this.rows, null, this.count, this.index, this.scratch, output);
+        this.index += this.count;
+        this.pending = false;
+    }
+
+    private void ensureCapacity(int count) {
+        int length = count * MESSAGE_BYTES;
+        if (this.rows.length < length) {
+            this.choices = new byte[count / 8];
+            this.zeros = new byte[count / 8];
+            this.columns = new byte[length];
+            this.u = new byte[length];
+            this.rows = new byte[length];
+            this.scratch = new byte[length];
+        }
+    }
+}
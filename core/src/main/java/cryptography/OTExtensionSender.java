@@ -0,0 +1,106 @@
+package cryptography;
+
+import java.math.BigInteger;
+import javax.crypto.Cipher;
+
+import static cryptography.OTExtension.KAPPA;
+import static cryptography.OTExtension.MESSAGE_BYTES;
+
+public class OTExtensionSender {
+    // the sender of the extended OTs is the receiver of the KAPPA base OTs, so it holds the Paillier key pair
+    private final PaillierPrivateKey privateKey;
+    // the random choice bits s of the base OTs, bit i selects which seed of base OT i the sender learns
+    private final byte[] s = new byte[MESSAGE_BYTES];
+    private final Cipher permutation = OTExtension.fixedKeyPermutation();
+    private Cipher[] generators;
+    // global index of the first OT of the current batch, used as the tweak of the hash
+    private long index;
+    private int count;
+    private boolean pending;
+    private byte[] zeros = new byte[0], columns = new byte[0], rows = new byte[0], scratch = new byte[0];
+
+    public OTExtensionSender(PaillierPrivateKey privateKey) {
+        this.privateKey = privateKey;
+    }
+
+    public long getIndex() {
+        return this.index;
+    }
+
+    public BigInteger[] baseChoices() {
+        // selecting s at random and encrypting every bit of it as the sigma of one Paillier OT
+        RandomSource.current().nextBytes(this.s);
+        PaillierPublicKey publicKey = this.privateKey.getPublicKey();
+        BigInteger[] encryptedChoices = new BigInteger[KAPPA];
+        for (int i = 0; i < KAPPA; i++) {
+            BigInteger sigma = OTExtension.bit(this.s, i) ? BigInteger.ONE : BigInteger.ZERO;
+            encryptedChoices[i] = publicKey.encryption(sigma, RandomSource.unit(publicKey.getCompositeModulusN()));
+        }
+        return encryptedChoices;
+    }
+
+    public void baseKeys(BigInteger[][] baseAnswers) {
+        // decrypting c_(s_i) of every base OT to learn the seed k_i^(s_i) and starting its PRG stream
+        if (baseAnswers.length != KAPPA)
+            throw new IllegalArgumentException("expected " + KAPPA + " base OT answers");
+        this.generators = new Cipher[KAPPA];
+        for (int i = 0; i < KAPPA; i++) {
+            BigInteger seed = this.privateKey.decryptionCRT(baseAnswers[i][OTExtension.bit(this.s, i) ? 1 : 0]);
+            this.generators[i] = OTExtension.generator(OTExtension.seedBytes(seed));
+        }
+    }
+
+    public void extend(byte[] u, int count) {
+        OTExtension.checkBatch(count);
+        if (this.generators == null)
+            throw new IllegalStateException("the base OTs have not been run");
+        if (this.pending)
+            throw new IllegalStateException("the previous batch has not been sent");
+        this.ensureCapacity(count);
+
+        // calculating the columns q_i = G(k_i^(s_i)) xor (s_i * u_i) = t_i xor (s_i * r) and transposing them into the
+        // rows q_j = t_j xor (r_j * s)
+        int columnBytes = count / 8;
+        for (int i = 0; i < KAPPA; i++) {
+            int offset = i * columnBytes;
+            OTExtension.expand(this.generators[i], this.zeros, this.columns, offset, columnBytes);
+            if (OTExtension.bit(this.s, i)) {
+                for (int k = 0; k < columnBytes; k++) {
+                    this.columns[offset + k] ^= u[offset + k];
+                }
+            }
+        }
+        OTExtension.transpose(this.columns, count, this.rows);
+        this.count = count;
+        this.pending = true;
+    }
+
+    public void send(byte[] x0, byte[] x1, byte[] y0, byte[] y1) {
+        // masking the messages of the batch as y0_j = x0_j xor H(j, q_j) and y1_j = x1_j xor H(j, q_j xor s)
+        this.random(y0, y1);
+        for (int k = 0; k < this.count * MESSAGE_BYTES; k++) {
+            y0[k] ^= x0[k];
+            y1[k] ^= x1[k];
+        }
+    }
+
+    public void random(byte[] x0, byte[] x1) {
+        // random OT: the messages are x0_j = H(j, q_j) and x1_j = H(j, q_j xor s), so nothing has to be sent back
+        if (!this.pending)
+            throw new IllegalStateException("no batch has been extended");
+        OTExtension.hash(this.permutation, this.rows, null, this.count, this.index, this.scratch, x0);
+        OTExtension.hash(this.permutation, this.rows, this.s, this.count, this.index, this.scratch, x1);
+        this.index += this.count;
+        this.pending = false;
+    }
+
+    private void ensureCapacity(int count) {
+        int length = count * MESSAGE_BYTES;
+        if (this.rows.length < length) {
+            this.zeros = new byte[count / 8];
+            this.columns = new byte[length];
+            this.rows = new byte[length];
+            this.scratch = new byte[length];
+        }
+    }
+}
@@ -1,9 +1,13 @@
+package cryptography;
+
 import java.math.BigInteger;
-import java.util.Random;
 import java.util.Scanner;
 
 public class OTPaillier {
-    private BigInteger p, q, n, g, lambda;
+    private BigInteger p, q;
+    // the key pair derived from p and q at key generation, shared with other Paillier classes through get/setPrivateKey
+    private PaillierPrivateKey privateKey;
+
     public void setFirstPrimeP(BigInteger p) {
         this.p = p;
     }
@@ -12,16 +16,10 @@ public class OTPaillier {
         this.q = q;
     }
 
-    public void setCompositeModulusN(BigInteger n) {
-        this.n = n;
-    }
-
-    public void setEncryptionExponentLambda(BigInteger lambda) {
-        this.lambda = lambda;
-    }
-
-    public void setGeneratorG(BigInteger g) {
-        this.g = g;
+    public void setPrivateKey(PaillierPrivateKey privateKey) {
+        this.privateKey = privateKey;
+        this.p = privateKey.getFirstPrimeP();
+        this.q = privateKey.getSecondPrimeQ();
     }
 
     public BigInteger getFirstPrimeP() {
@@ -32,80 +30,67 @@ public class OTPaillier {
         return q;
     }
 
-    public BigInteger getCompositeModulusN() {
-        return this.n;
+    public PaillierPrivateKey getPrivateKey() {
+        return this.privateKey;
     }
 
-    public BigInteger getEncryptionExponentLambda() {
-        return this.lambda;
+    public PaillierPublicKey getPublicKey() {
+        return this.privateKey.getPublicKey();
     }
 
-    public BigInteger getGeneratorG() {
-        return this.g;
+    public BigInteger getCompositeModulusN() {
+        return this.getPublicKey().getCompositeModulusN();
     }
 
-    public BigInteger generateRandomBigIntegerNumber(BigInteger lowerLimit, BigInteger upperLimit) {
-        BigInteger range = upperLimit.subtract(lowerLimit);
-        Random randomVariable = new Random();
-        int lengthOfRandomNumber = upperLimit.bitLength();
-        BigInteger result = new BigInteger(lengthOfRandomNumber, randomVariable);
-        if (result.compareTo(lowerLimit) < 0)
-            result = result.add(lowerLimit);
-        if (result.compareTo(range) >= 0)
-            result = result.mod(range).add(lowerLimit);
+    public BigInteger getEncryptionExponentLambda() {
+        return this.privateKey.getEncryptionExponentLambda();
+    }
 
-        return result;
+    public BigInteger getGeneratorG() {
+        return this.getPublicKey().getGeneratorG();
     }
 
     public void keyGeneration() {
-        // calculating n = p * q
-        this.setCompositeModulusN(this.p.multiply(this.q));
-
-        // calculating lambda = LCM(p-1, q-1)
-        // setting num1 = p - 1 and num2 = q - 1
-        BigInteger num1 = this.p.subtract(BigInteger.ONE);
-        BigInteger num2 = this.q.subtract(BigInteger.ONE);
-
-        // calculating GCD of num1 and num2
-        BigInteger gcd = num1.gcd(num2);
-
-        // set lambda through the LCM formula
-        // LCM * GCD = num1 * num2
-        // LCM = (num1 * num2) / GCD
-        this.setEncryptionExponentLambda((num1.multiply(num2)).divide(gcd));
-
-        // setting g = n + 1
-        this.setGeneratorG(this.n.add(BigInteger.ONE));
+        // calculating n = p * q, lambda = LCM(p-1, q-1), g = n + 1 and the values cached for decryption
+        this.privateKey = new PaillierPrivateKey(this.p, this.q);
     }
 
     public BigInteger encryption(BigInteger m, BigInteger r) {
-        // get the values of g and n
-        BigInteger g = this.getGeneratorG();
-        BigInteger n = this.getCompositeModulusN();
-
         // calculating ciphertext c = (g^m * r^n) mod n^2
-        BigInteger c = ((g.modPow(m, n.multiply(n))).multiply(r.modPow(n, n.multiply(n)))).mod(n.multiply(n));
+        return this.getPublicKey().encryption(m, r);
+    }
 
-        return c;
+    public BigInteger encryption(BigInteger m, PaillierNonce nonce) {
+        // calculating ciphertext c = (g^m * r^n) mod n^2 with a precomputed r^n mod n^2
+        return this.getPublicKey().encryption(m, nonce);
     }
 
     public BigInteger decryption(BigInteger c) {
-        // get the values of g and n
-        BigInteger g = this.getGeneratorG();
-        BigInteger n = this.getCompositeModulusN();
-        // get the value of lambda
-        BigInteger lambda = this.getEncryptionExponentLambda();
+        // calculating the decrypted plaintext md = (L(c^lambda mod n^2) * mu) mod n
+        return this.privateKey.decryption(c);
+    }
+
+    public BigInteger decryptionCRT(BigInteger c) {
+        // calculating the decrypted plaintext md through CRT over p^2 and q^2
+        return this.privateKey.decryptionCRT(c);
+    }
 
-        // calculating S = L(c^lambda mod n^2) where L(x) = (x-1)/n
-        BigInteger S = ((c.modPow(lambda, n.multiply(n)).subtract(BigInteger.ONE)).divide(n)).mod(n);
+    public BigInteger[] senderComputation(BigInteger encryptedSigma, BigInteger[] xArray, BigInteger r, BigInteger r0, BigInteger r1) {
+        return senderComputation(this.getPublicKey(), encryptedSigma, xArray, r, r0, r1);
+    }
 
-        // calculating modular multiplicative inverse mu = (L(g^lambda mod n2))^(-1) mod n
-        BigInteger mu = ((g.modPow(lambda, n.multiply(n)).subtract(BigInteger.ONE)).divide(n)).modPow(BigInteger.valueOf(-1), n);
+    public static BigInteger[] senderComputation(PaillierPublicKey publicKey, BigInteger encryptedSigma, BigInteger[] xArray, BigInteger r, BigInteger r0, BigInteger r1) {
+        // the sender only needs the receiver's public key
+        // calculating Enc(1 - sigma) = Enc(1) * Enc(sigma)^(-1) mod n^2
+        BigInteger N2 = publicKey.getCompositeModulusNSquared();
+        BigInteger minusSigma = encryptedSigma.modPow(BigInteger.valueOf(-1), N2);
+        BigInteger oneMinusSigma = ((publicKey.encryption(BigInteger.ONE, r)).multiply(minusSigma)).mod(N2);
 
-        // calculating the decrypted plaintext md = (S * mu) mod n
-        BigInteger md = (S.multiply(mu)).mod(n);
+        // calculating c0 = Enc((1 - sigma) * x0 + sigma * r0) and c1 = Enc(sigma * x1 + (1 - sigma) * r1)
+        BigInteger c0 = ((oneMinusSigma.modPow(xArray[0], N2)).multiply(encryptedSigma.modPow(r0, N2))).mod(N2);
+        BigInteger c1 = ((encryptedSigma.modPow(xArray[1], N2)).multiply(oneMinusSigma.modPow(r1, N2))).mod(N2);
 
-        return md;
+        return new BigInteger[]{c0, c1};
     }
 
     public static void main(String arg[]) {
@@ -131,8 +116,8 @@ public class OTPaillier {
 
         // initializing the xArray with values [x0, x1]
         BigInteger[] xArray = new BigInteger[2];
-        xArray[0] = otPaillier.generateRandomBigIntegerNumber(BigInteger.ONE, compositeModulusN.subtract(BigInteger.ONE));
-        xArray[1] = otPaillier.generateRandomBigIntegerNumber(BigInteger.ONE, compositeModulusN.subtract(BigInteger.ONE));
+        xArray[0] = RandomSource.uniform(BigInteger.ONE, compositeModulusN.subtract(BigInteger.ONE));
+        xArray[1] = RandomSource.uniform(BigInteger.ONE, compositeModulusN.subtract(BigInteger.ONE));
 
         // printing the xArray
         System.out.println("The xArray is [x0, x1]: ");
@@ -151,7 +136,7 @@ public class OTPaillier {
         // Encryption
         System.out.println("-------------------- Encryption --------------------");
         // generating a random number r between [1, n-1]
-        BigInteger r = otPaillier.generateRandomBigIntegerNumber(BigInteger.ONE, otPaillier.getCompositeModulusN().subtract(BigInteger.ONE));
+        BigInteger r = RandomSource.uniform(BigInteger.ONE, otPaillier.getCompositeModulusN().subtract(BigInteger.ONE));
         System.out.println("The random number is r = " + r);
         // calculating ciphertext sigma through encryption
         BigInteger encryptedSigma = otPaillier.encryption(sigma, r);
@@ -160,15 +145,13 @@ public class OTPaillier {
         System.out.println();
 
         // generating random values for r0 and r1 between [1, n-1]
-        BigInteger r0 = otPaillier.generateRandomBigIntegerNumber(BigInteger.ONE, compositeModulusN.subtract(BigInteger.ONE));
-        BigInteger r1 = otPaillier.generateRandomBigIntegerNumber(BigInteger.ONE, compositeModulusN.subtract(BigInteger.ONE));
+        BigInteger r0 = RandomSource.uniform(BigInteger.ONE, compositeModulusN.subtract(BigInteger.ONE));
+        BigInteger r1 = RandomSource.uniform(BigInteger.ONE, compositeModulusN.subtract(BigInteger.ONE));
 
         // generating c0 and c1 using Paillier's HE properties
-        BigInteger N2 = compositeModulusN.multiply(compositeModulusN);
-        BigInteger minusSigma = encryptedSigma.modPow(BigInteger.valueOf(-1), N2);
-        BigInteger oneMinusSigma = (otPaillier.encryption(BigInteger.ONE, r)).multiply(minusSigma);
-        BigInteger c0 = (oneMinusSigma.modPow(xArray[0], N2)).multiply(encryptedSigma.modPow(r0, N2));
-        BigInteger c1 = (encryptedSigma.modPow(xArray[1], N2)).multiply(oneMinusSigma.modPow(r1, N2));
+        BigInteger[] c = otPaillier.senderComputation(encryptedSigma, xArray, r, r0, r1);
+        BigInteger c0 = c[0];
+        BigInteger c1 = c[1];
 
         // printing the encrypted values
         System.out.println("Encrypted xArray values:");
@@ -180,10 +163,10 @@ public class OTPaillier {
         System.out.println("-------------------- Decryption --------------------");
         BigInteger decryptedValue;
         if(sigma.equals(BigInteger.ZERO)) {
-            decryptedValue = otPaillier.decryption(c0);
+            decryptedValue = otPaillier.decryptionCRT(c0);
         }
         else {
-            decryptedValue = otPaillier.decryption(c1);
+            decryptedValue = otPaillier.decryptionCRT(c1);
         }
 
         System.out.println("Decrypted xsigma: " + decryptedValue);
@@ -0,0 +1,27 @@
+package cryptography;
+
+import java.math.BigInteger;
+
+public class OneOutOfNOTReceiver {
+    private final PaillierPrivateKey privateKey;
+
+    public OneOutOfNOTReceiver(PaillierPrivateKey privateKey) {
+        this.privateKey = privateKey;
+    }
+
+    public PaillierPublicKey getPublicKey() {
+        return this.privateKey.getPublicKey();
+    }
+
+    public BigInteger choice(int sigma, int count) {
+        if (sigma < 0 || sigma >= count)
+            throw new IllegalArgumentException("sigma " + sigma + " is outside of [0, " + count + ")");
+        // a single ciphertext Enc(sigma) whatever the number of messages
+        return this.getPublicKey().encryption(BigInteger.valueOf(sigma), RandomSource.unit(this.getPublicKey().getCompositeModulusN()));
+    }
+
+    public BigInteger receive(BigInteger[] answers, int sigma) {
+        // only c_sigma is decrypted, the other answers decrypt to random values
+        return this.privateKey.decryptionCRT(answers[sigma]);
+    }
+}
@@ -0,0 +1,141 @@
+package cryptography;
+
+import java.math.BigInteger;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+public class OneOutOfNOTSender {
+    // the N messages x_0, ..., x_(N-1) are fixed once and answered to any number of receivers, each under its own key
+    private final BigInteger[] messages;
+    private final Executor executor;
+    private final int parallelism;
+
+    public OneOutOfNOTSender(BigInteger[] messages) {
+        this(messages, Runnable::run, 1);
+    }
+
+    public OneOutOfNOTSender(BigInteger[] messages, Executor executor, int parallelism) {
+        if (messages.length < 1 || parallelism < 1)
+            throw new IllegalArgumentException("messages must not be empty and parallelism must be positive");
+        for (BigInteger message : messages) {
+            if (message.signum() < 0)
+                throw new IllegalArgumentException("messages must not be negative");
+        }
+        this.messages = messages.clone();
+        this.executor = executor;
+        this.parallelism = parallelism;
+    }
+
+    public int getMessageCount() {
+        return this.messages.length;
+    }
+
+    public BigInteger[] answer(PaillierPublicKey receiverPublicKey, BigInteger encryptedSigma) {
+        // every answer is rerandomized with a fresh s_i^n mod n^2 computed on the spot
+        BigInteger n = receiverPublicKey.getCompositeModulusN();
+        BigInteger nSquared = receiverPublicKey.getCompositeModulusNSquared();
+        return this.answer(receiverPublicKey, encryptedSigma, () -> {
+            BigInteger s = RandomSource.unit(n);
+            return new PaillierNonce(s, s.modPow(n, nSquared));
+        });
+    }
+
+    public BigInteger[] answer(PaillierPublicKey receiverPublicKey, BigInteger encryptedSigma, PaillierNoncePool noncePool) {
+        // taking the rerandomizers from a pool of the receiver's key, which moves their exponentiations off this call
+        if (!noncePool.getPublicKey().getCompositeModulusN().equals(receiverPublicKey.getCompositeModulusN()))
+            throw new IllegalArgumentException("the nonce pool was built for a different key");
+        return this.answer(receiverPublicKey, encryptedSigma, noncePool::take);
+    }
+
+    private BigInteger[] answer(PaillierPublicKey receiverPublicKey, BigInteger encryptedSigma, Supplier<PaillierNonce> nonces) {
+        BigInteger n = receiverPublicKey.getCompositeModulusN();
+        BigInteger nSquared = receiverPublicKey.getCompositeModulusNSquared();
+        for (BigInteger message : this.messages) {
+            if (message.compareTo(n) >= 0)
+                throw new IllegalArgumentException("message " + message + " does not fit in the receiver's plaintext space");
+        }
+        BigInteger c = encryptedSigma.mod(nSquared);
+
+        // calculating c_i = Enc(sigma - i)^(rho_i) * g^(x_i) * s_i^n = Enc(x_i + rho_i * (sigma - i)) for a random rho_i
+        // in [1, n-1], which decrypts to x_sigma for i = sigma and to a uniformly random value otherwise
+        // since g = n + 1, Enc(sigma - i) = Enc(sigma) * (1 - i*n) and g^(x_i) = 1 + x_i*n mod n^2 need no exponentiation,
+        // the fresh s_i^n hides rho_i, which the receiver could otherwise recover from the randomness r^(n * rho_i)
+        int count = this.messages.length;
+        BigInteger[] answers = new BigInteger[count];
+        this.runTasks(count, (first, last) -> {
+            BigInteger[] rho = new BigInteger[count];
+            RandomSource.uniform(BigInteger.ONE, n.subtract(BigInteger.ONE), rho, first, last);
+            for (int i = first; i < last; i++) {
+                BigInteger gMinusI = BigInteger.ONE.subtract(BigInteger.valueOf(i).multiply(n)).mod(nSquared);
+                BigInteger gXi = BigInteger.ONE.add(this.messages[i].multiply(n));
+                BigInteger ci = ((c.multiply(gMinusI)).mod(nSquared).modPow(rho[i], nSquared).multiply(gXi)).mod(nSquared);
+                answers[i] = receiverPublicKey.rerandomization(ci, nonces.get());
+            }
+        });
+        return answers;
+    }
+
+    private interface RangeTask {
+        void run(int first, int last);
+    }
+
+    private void runTasks(int count, RangeTask body) {
+        if (this.parallelism == 1 || count <= 1) {
+            body.run(0, count);
+            return;
+        }
+
+        // handing [0, count) out to at most parallelism tasks of neighbouring indices
+        int tasks = Math.min(this.parallelism, count);
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[tasks];
+        for (int task = 0; task < tasks; task++) {
+            int first = (int) ((long) count * task / tasks);
+            int last = (int) ((long) count * (task + 1) / tasks);
+            futures[task] = CompletableFuture.runAsync(() -> body.run(first, last), this.executor);
+        }
+        try {
+            CompletableFuture.allOf(futures).join();
+        }
+        catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw e;
+        }
+    }
+
+    public static void main(String[] args) {
+        // one sender with N random messages answering several receivers, each with its own key and choice
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int receivers = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        int parallelism = Runtime.getRuntime().availableProcessors();
+
+        System.out.println();
+        System.out.println("---------- Sender messages x_0, ..., x_" + (count - 1) + " ----------");
+        BigInteger[] messages = RandomSource.uniform(BigInteger.ZERO, BigInteger.ONE.shiftLeft(128), count);
+        OneOutOfNOTSender sender = new OneOutOfNOTSender(messages, ForkJoinPool.commonPool(), parallelism);
+        System.out.println(count + " random 128 bit messages");
+        System.out.println();
+
+        PrimeGenerator generator = new PrimeGenerator(ForkJoinPool.commonPool(), parallelism);
+        for (int k = 0; k < receivers; k++) {
+            System.out.println("---------- Receiver " + k + " ----------");
+            PaillierEncryption paillier = new PaillierEncryption();
+            paillier.keyGeneration(2048, generator);
+            OneOutOfNOTReceiver receiver = new OneOutOfNOTReceiver(paillier.getPrivateKey());
+            int sigma = RandomSource.uniform(BigInteger.ZERO, BigInteger.valueOf(count - 1)).intValue();
+            System.out.println("Index sigma = " + sigma);
+
+            long start = System.nanoTime();
+            BigInteger[] answers = sender.answer(receiver.getPublicKey(), receiver.choice(sigma, count));
+            long senderTime = System.nanoTime() - start;
+            BigInteger received = receiver.receive(answers, sigma);
+            System.out.println("Received x_sigma = " + received);
+            System.out.println(received.equals(messages[sigma]) ? "Oblivious transfer was successful" : "Oblivious transfer was unsuccessful");
+            System.out.println("Sender computation took " + senderTime / 1_000_000 + " ms");
+            System.out.println();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package cryptography;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class PIRBatchScheduler implements AutoCloseable {
+    private final ComputationalPIRServer server;
+    private final PIRDatabase database;
+    // a batch is dispatched once it holds maxBatchQueries queries or its first query has waited maxWaitMillis
+    private final int maxBatchQueries;
+    private final long maxWaitMillis;
+    private final BlockingQueue<PendingQuery> pending = new LinkedBlockingQueue<>();
+    private final Thread dispatcher;
+    private volatile boolean running = true;
+
+    public PIRBatchScheduler(ComputationalPIRServer server, PIRDatabase database, int maxBatchQueries, long maxWaitMillis) {
+        if (maxBatchQueries < 1 || maxWaitMillis < 0)
+            throw new IllegalArgumentException("maxBatchQueries must be positive and maxWaitMillis must not be negative");
+        this.server = server;
+        this.database = database;
+        this.maxBatchQueries = maxBatchQueries;
+        this.maxWaitMillis = maxWaitMillis;
+        this.dispatcher = new Thread(this::dispatch, "pir-batch-scheduler");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    public CompletableFuture<BigInteger[]> submit(BigInteger[] encryptedColumnIndexVector) {
+        if (encryptedColumnIndexVector.length != this.database.getColumnCount())
+            throw new IllegalArgumentException("database has " + this.database.getColumnCount() + " columns but the query has " + encryptedColumnIndexVector.length);
+        if (!this.running)
+            throw new IllegalStateException("the scheduler has been closed");
+
+        CompletableFuture<BigInteger[]> answer = new CompletableFuture<>();
+        PendingQuery query = new PendingQuery(encryptedColumnIndexVector, answer);
+        this.pending.add(query);
+        // close may have drained the queue between the check above and the add, a query still found in the queue
+        // afterwards would never be answered, so it is taken back and failed here, otherwise close has failed it
+        if (!this.running && this.pending.remove(query))
+            answer.completeExceptionally(new IllegalStateException("the scheduler has been closed"));
+        return answer;
+    }
+
+    @Override
+    public void close() {
+        this.running = false;
+        this.dispatcher.interrupt();
+        try {
+            this.dispatcher.join();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // failing whatever was still waiting for a batch
+        PendingQuery query;
+        while ((query = this.pending.poll()) != null) {
+            query.answer.completeExceptionally(new IllegalStateException("the scheduler has been closed"));
+        }
+    }
+
+    private void dispatch() {
+        List<PendingQuery> batch = new ArrayList<>();
+        try {
+            while (this.running) {
+                // blocking for the first query of the next batch, then collecting more until the batch is full or the window is over,
+                // the window starts when the first query was submitted and not when it is taken, so a query that arrived while
+                // the previous batch was answered does not wait another maxWaitMillis on top of that, queries already queued
+                // past the deadline still join the batch as they cost no further waiting
+                batch.add(this.pending.take());
+                long deadline = batch.get(0).submitted + TimeUnit.MILLISECONDS.toNanos(this.maxWaitMillis);
+                while (batch.size() < this.maxBatchQueries) {
+                    PendingQuery next = this.pending.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null)
+                        break;
+                    batch.add(next);
+                }
+
+                this.answer(batch);
+                batch.clear();
+            }
+        }
+        catch (InterruptedException e) {
+            for (PendingQuery query : batch) {
+                query.answer.completeExceptionally(new IllegalStateException("the scheduler has been closed"));
+            }
+        }
+    }
+
+    private void answer(List<PendingQuery> batch) {
+        List<BigInteger[]> queries = new ArrayList<>(batch.size());
+        for (PendingQuery query : batch) {
+            queries.add(query.encryptedColumnIndexVector);
+        }
+        try {
+            List<BigInteger[]> answers = this.server.answerBatch(this.database, queries);
+            for (int q = 0; q < batch.size(); q++) {
+                batch.get(q).answer.complete(answers.get(q));
+            }
+        }
+        catch (RuntimeException e) {
+            for (PendingQuery query : batch) {
+                query.answer.completeExceptionally(e);
+            }
+        }
+    }
+
+    private static final class PendingQuery {
+        private final BigInteger[] encryptedColumnIndexVector;
+        private final CompletableFuture<BigInteger[]> answer;
+        // System.nanoTime() at submission
+        private final long submitted;
+
+        private PendingQuery(BigInteger[] encryptedColumnIndexVector, CompletableFuture<BigInteger[]> answer) {
+            this.encryptedColumnIndexVector = encryptedColumnIndexVector;
+            this.answer = answer;
+            this.submitted = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package cryptography;
+
+import java.math.BigInteger;
+
+public interface PIRDatabase {
+    int getRowCount();
+
+    int getColumnCount();
+
+    BigInteger getRecord(int row, int column);
+
+    // an upper bound on the bit length of every record
+    int getMaxRecordBits();
+
+    // calculating product over columns j in [from, to) of bases[j]^record(row, j) mod the modulus of multiExponentiation
+    BigInteger multiExponentiateRow(MultiExponentiation multiExponentiation, BigInteger[] bases, int row, int from, int to);
+
+    // same product as above with the power of every base read from its precomputed table tables[j]
+    BigInteger fixedBaseExponentiateRow(FixedBaseExponentiation[] tables, int row, int from, int to);
+}
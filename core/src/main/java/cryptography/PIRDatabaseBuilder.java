@@ -0,0 +1,107 @@
+package cryptography;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+public class PIRDatabaseBuilder implements AutoCloseable {
+    private final DataOutputStream output;
+    private final int recordBytes;
+    private final long expectedRecords;
+    private final byte[] record;
+    private long writtenRecords;
+
+    public PIRDatabaseBuilder(Path path, int rows, int columns, int recordBytes) throws IOException {
+        if (rows < 0 || columns < 0 || recordBytes < 1)
+            throw new IllegalArgumentException("rows and columns must not be negative and recordBytes must be positive");
+        this.recordBytes = recordBytes;
+        this.expectedRecords = (long) rows * columns;
+        this.record = new byte[recordBytes];
+        this.output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16));
+
+        // writing the header read back by MappedPIRDatabase.open
+        this.output.writeInt(MappedPIRDatabase.MAGIC);
+        this.output.writeInt(MappedPIRDatabase.VERSION);
+        this.output.writeInt(rows);
+        this.output.writeInt(columns);
+        this.output.writeInt(recordBytes);
+    }
+
+    public void appendRecord(BigInteger value) throws IOException {
+        if (value.signum() < 0 || value.bitLength() > this.recordBytes * 8)
+            throw new IllegalArgumentException(value + " does not fit in an unsigned " + this.recordBytes + " byte record");
+        // writing the value as a fixed width big-endian record, left padded with zeros
+        byte[] bytes = value.toByteArray();
+        int length = Math.min(bytes.length, this.recordBytes);
+        for (int k = 0; k < this.recordBytes - length; k++) {
+            this.output.write(0);
+        }
+        this.output.write(bytes, bytes.length - length, length);
+        this.writtenRecords++;
+    }
+
+    public void appendRecord(long value) throws IOException {
+        if (value < 0 || (this.recordBytes < 8 && value >>> (this.recordBytes * 8) != 0))
+            throw new IllegalArgumentException(value + " does not fit in an unsigned " + this.recordBytes + " byte record");
+        for (int k = this.recordBytes - 1; k >= 0; k--) {
+            this.record[this.recordBytes - 1 - k] = k >= 8 ? 0 : (byte) (value >>> (k * 8));
+        }
+        this.output.write(this.record);
+        this.writtenRecords++;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.output.close();
+        if (this.writtenRecords != this.expectedRecords)
+            throw new IOException("expected " + this.expectedRecords + " records but " + this.writtenRecords + " were written");
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 4) {
+            System.out.println("Usage: PIRDatabaseBuilder <output file> <rows> <columns> <record bytes> [input csv]");
+            System.out.println("Without an input csv the test database (i, j) = (i+1)*(j+1) is written");
+            return;
+        }
+        Path output = Paths.get(args[0]);
+        int rows = Integer.parseInt(args[1]);
+        int columns = Integer.parseInt(args[2]);
+        int recordBytes = Integer.parseInt(args[3]);
+
+        try (PIRDatabaseBuilder builder = new PIRDatabaseBuilder(output, rows, columns, recordBytes)) {
+            if (args.length > 4) {
+                // every line of the csv is one database row of comma separated non-negative integers
+                try (BufferedReader reader = Files.newBufferedReader(Paths.get(args[4]))) {
+                    for (int i = 0; i < rows; i++) {
+                        String line = reader.readLine();
+                        if (line == null)
+                            throw new IOException("the input csv has only " + i + " rows");
+                        String[] values = line.split(",");
+                        if (values.length != columns)
+                            throw new IOException("row " + i + " of the input csv has " + values.length + " columns");
+                        for (String value : values) {
+                            builder.appendRecord(new BigInteger(value.trim()));
+                        }
+                    }
+                }
+            }
+            else {
+                for (int i = 0; i < rows; i++) {
+                    for (int j = 0; j < columns; j++) {
+                        builder.appendRecord((long) (i + 1) * (j + 1));
+                    }
+                }
+            }
+        }
+
+        // loading the database back to check the header and the file size
+        try (MappedPIRDatabase database = MappedPIRDatabase.open(output)) {
+            System.out.println("Wrote " + database.getRowCount() + "x" + database.getColumnCount() + " database of " + database.getRecordBytes() + " byte records to " + output);
+        }
+    }
+}
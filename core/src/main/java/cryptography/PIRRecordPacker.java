@@ -0,0 +1,105 @@
+package cryptography;
+
+import java.math.BigInteger;
+
+public class PIRRecordPacker {
+    private final int slotBits, guardBits, slotWidth, slotsPerPlaintext;
+    private final BigInteger recordMask;
+
+    public PIRRecordPacker(BigInteger n, int slotBits, int guardBits) {
+        if (slotBits < 1 || slotBits > 64 || guardBits < 0)
+            throw new IllegalArgumentException("slotBits must be between 1 and 64 and guardBits must not be negative");
+        this.slotBits = slotBits;
+        this.guardBits = guardBits;
+        this.slotWidth = slotBits + guardBits;
+
+        // every slot takes slotBits of record and guardBits of headroom for carries of homomorphic additions,
+        // and the packed plaintext stays below 2^(bitLength(n) - 1) < n
+        this.slotsPerPlaintext = (n.bitLength() - 1) / this.slotWidth;
+        if (this.slotsPerPlaintext < 1)
+            throw new IllegalArgumentException("a " + this.slotWidth + " bit slot does not fit in the plaintext space");
+        this.recordMask = BigInteger.ONE.shiftLeft(slotBits).subtract(BigInteger.ONE);
+    }
+
+    public int getSlotBits() {
+        return this.slotBits;
+    }
+
+    public int getGuardBits() {
+        return this.guardBits;
+    }
+
+    public int getSlotsPerPlaintext() {
+        return this.slotsPerPlaintext;
+    }
+
+    public int getPackedRecordBytes() {
+        return (this.slotsPerPlaintext * this.slotWidth + 7) / 8;
+    }
+
+    public int packedColumn(int column) {
+        return column / this.slotsPerPlaintext;
+    }
+
+    public int slot(int column) {
+        return column % this.slotsPerPlaintext;
+    }
+
+    public BigInteger pack(long[] records, int from, int to) {
+        if (to - from > this.slotsPerPlaintext)
+            throw new IllegalArgumentException((to - from) + " records do not fit in " + this.slotsPerPlaintext + " slots");
+
+        // packed = sum over i of records[from + i] * 2^(i * slotWidth), records are read as unsigned values
+        BigInteger packed = BigInteger.ZERO;
+        for (int i = to - from - 1; i >= 0; i--) {
+            long record = records[from + i];
+            if (this.slotBits < 64 && record >>> this.slotBits != 0)
+                throw new IllegalArgumentException("record " + Long.toUnsignedString(record) + " does not fit in " + this.slotBits + " bits");
+            packed = packed.shiftLeft(this.slotWidth).or(unsigned(record));
+        }
+        return packed;
+    }
+
+    public BigInteger[][] packDatabase(long[][] records) {
+        // grouping every slotsPerPlaintext neighbouring columns of a row into one packed column
+        BigInteger[][] packed = new BigInteger[records.length][];
+        for (int i = 0; i < records.length; i++) {
+            int packedColumns = (records[i].length + this.slotsPerPlaintext - 1) / this.slotsPerPlaintext;
+            packed[i] = new BigInteger[packedColumns];
+            for (int k = 0; k < packedColumns; k++) {
+                int from = k * this.slotsPerPlaintext;
+                packed[i][k] = this.pack(records[i], from, Math.min(records[i].length, from + this.slotsPerPlaintext));
+            }
+        }
+        return packed;
+    }
+
+    public long unpackSlot(BigInteger packed, int slot) {
+        BigInteger value = packed.shiftRight(slot * this.slotWidth);
+        // anything in the guard bits means a slot has overflowed into its neighbour
+        if (guardNonZero(value, this.slotBits, this.guardBits))
+            throw new ArithmeticException("slot " + slot + " has overflowed into its guard bits");
+        return value.and(this.recordMask).longValue();
+    }
+
+    public long[] unpack(BigInteger packed) {
+        long[] records = new long[this.slotsPerPlaintext];
+        for (int i = 0; i < this.slotsPerPlaintext; i++) {
+            records[i] = this.unpackSlot(packed, i);
+        }
+        return records;
+    }
+
+    private static boolean guardNonZero(BigInteger value, int slotBits, int guardBits) {
+        for (int k = 0; k < guardBits; k++) {
+            if (value.testBit(slotBits + k))
+                return true;
+        }
+        return false;
+    }
+
+    private static BigInteger unsigned(long record) {
+        BigInteger value = BigInteger.valueOf(record & Long.MAX_VALUE);
+        return record < 0 ? value.setBit(63) : value;
+    }
+}
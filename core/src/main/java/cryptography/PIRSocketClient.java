@@ -0,0 +1,70 @@
+package cryptography;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+
+public class PIRSocketClient implements AutoCloseable {
+    private final ComputationalPIRClient client;
+    private final CiphertextCodec codec;
+    private final SocketChannel channel;
+    private final DataInputStream input;
+    private final DataOutputStream output;
+    private final int rows, columns;
+
+    public PIRSocketClient(ComputationalPIRClient client, SocketAddress address) throws IOException {
+        this.client = client;
+        this.codec = CiphertextCodec.forPaillier(client.getPublicKey());
+        this.channel = address instanceof UnixDomainSocketAddress
+                ? SocketChannel.open(StandardProtocolFamily.UNIX)
+                : SocketChannel.open();
+        try {
+            this.channel.connect(address);
+            this.input = new DataInputStream(new BufferedInputStream(Channels.newInputStream(this.channel)));
+            this.output = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(this.channel)));
+
+            // sending the public modulus n and reading back the shape of the database
+            CiphertextCodec.writeBigInteger(this.output, client.getPublicKey().getCompositeModulusN());
+            this.output.flush();
+            this.rows = this.input.readInt();
+            this.columns = this.input.readInt();
+        }
+        catch (IOException e) {
+            this.channel.close();
+            throw e;
+        }
+    }
+
+    public int getRowCount() {
+        return this.rows;
+    }
+
+    public int getColumnCount() {
+        return this.columns;
+    }
+
+    public BigInteger[] query(BigInteger[] encryptedColumnIndexVector) throws IOException {
+        PIRSocketServer.writeVector(this.output, this.codec, encryptedColumnIndexVector);
+        this.output.flush();
+        return PIRSocketServer.readVector(this.input, this.codec, this.rows);
+    }
+
+    public BigInteger retrieve(int row, int column) throws IOException {
+        // sending the encrypted selection vector of the column and decrypting the answer of the row
+        BigInteger[] encryptedAnswer = this.query(this.client.selectionVector(column, this.columns));
+        return this.client.decodeAnswer(encryptedAnswer, row);
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+}
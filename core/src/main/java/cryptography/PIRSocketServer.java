@@ -0,0 +1,198 @@
+package cryptography;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+
+public class PIRSocketServer implements AutoCloseable {
+    // the client moduli the server accepts, anything else is rejected before any work is done for it
+    public static final int MIN_MODULUS_BITS = 1024;
+    public static final int MAX_MODULUS_BITS = 8192;
+    // the number of client keys whose answer engines are kept, the least recently used one is dropped beyond that
+    public static final int MAX_CACHED_KEYS = 64;
+
+    // the database is shared read-only by all sessions, and so is the answer engine of every client key
+    private final PIRDatabase database;
+    private final Executor computeExecutor;
+    private final int parallelism;
+    private final Map<BigInteger, ComputationalPIRServer> servers = new LinkedHashMap<>(16, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<BigInteger, ComputationalPIRServer> eldest) {
+            return this.size() > MAX_CACHED_KEYS;
+        }
+    };
+    // every query holds a permit while the server computes its answer, sessions beyond the limit wait for one
+    private final Semaphore inFlightQueries;
+    private final ExecutorService sessions = Executors.newVirtualThreadPerTaskExecutor();
+    private ServerSocketChannel serverChannel;
+    private Thread acceptor;
+
+    public PIRSocketServer(PIRDatabase database, Executor computeExecutor, int parallelism, int maxInFlightQueries) {
+        if (maxInFlightQueries < 1)
+            throw new IllegalArgumentException("maxInFlightQueries must be positive");
+        this.database = database;
+        this.computeExecutor = computeExecutor;
+        this.parallelism = parallelism;
+        this.inFlightQueries = new Semaphore(maxInFlightQueries, true);
+    }
+
+    public SocketAddress start(SocketAddress address) throws IOException {
+        // binding either a TCP socket or a Unix-domain socket depending on the address
+        this.serverChannel = address instanceof UnixDomainSocketAddress
+                ? ServerSocketChannel.open(StandardProtocolFamily.UNIX)
+                : ServerSocketChannel.open();
+        this.serverChannel.bind(address);
+        this.acceptor = new Thread(this::accept, "pir-socket-acceptor");
+        this.acceptor.start();
+        return this.serverChannel.getLocalAddress();
+    }
+
+    public int getAvailableQueryPermits() {
+        return this.inFlightQueries.availablePermits();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.serverChannel != null) {
+            this.serverChannel.close();
+        }
+        this.sessions.shutdownNow();
+    }
+
+    private void accept() {
+        try {
+            while (true) {
+                SocketChannel channel = this.serverChannel.accept();
+                // one virtual thread per session so that thousands of idle or blocked sessions stay cheap
+                this.sessions.execute(() -> this.serve(channel));
+            }
+        }
+        catch (ClosedChannelException e) {
+            // the server has been closed
+        }
+        catch (IOException e) {
+            System.err.println("PIR socket server stopped accepting: " + e.getMessage());
+        }
+    }
+
+    private void serve(SocketChannel channel) {
+        try (channel) {
+            DataInputStream input = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+
+            // the session starts with the client's modulus n, answered with the shape of the database
+            BigInteger n = CiphertextCodec.readBigInteger(input, (MAX_MODULUS_BITS + 7) / 8 + 1);
+            if (n.bitLength() < MIN_MODULUS_BITS || n.bitLength() > MAX_MODULUS_BITS || !n.testBit(0))
+                throw new IOException("unsupported modulus of " + n.bitLength() + " bits");
+            ComputationalPIRServer server = this.server(n);
+            CiphertextCodec codec = CiphertextCodec.forPaillier(server.getPublicKey());
+            output.writeInt(this.database.getRowCount());
+            output.writeInt(this.database.getColumnCount());
+            output.flush();
+
+            // answering queries until the client closes the connection
+            while (true) {
+                BigInteger[] query;
+                try {
+                    query = readVector(input, codec, this.database.getColumnCount());
+                }
+                catch (EOFException e) {
+                    return;
+                }
+
+                BigInteger[] answer;
+                this.inFlightQueries.acquire();
+                try {
+                    answer = server.answer(this.database, query);
+                }
+                finally {
+                    this.inFlightQueries.release();
+                }
+                writeVector(output, codec, answer);
+                output.flush();
+            }
+        }
+        catch (ClosedChannelException e) {
+            // the server has been closed while the session was waiting
+        }
+        catch (IOException | RuntimeException e) {
+            System.err.println("PIR session failed: " + e);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ComputationalPIRServer server(BigInteger n) {
+        // the engines only hold the key and its Barrett constants, so building one under the lock is cheap
+        synchronized (this.servers) {
+            return this.servers.computeIfAbsent(n, key -> new ComputationalPIRServer(new PaillierPublicKey(key), this.computeExecutor, this.parallelism));
+        }
+    }
+
+    static BigInteger[] readVector(DataInputStream input, CiphertextCodec codec, int expectedLength) throws IOException {
+        // reading the length prefix and the fixed width ciphertexts in one go and decoding them with the codec
+        int length = input.readInt();
+        if (length != expectedLength)
+            throw new IOException("expected " + expectedLength + " ciphertexts but got " + length);
+        ByteBuffer buffer = ByteBuffer.allocate(codec.vectorBytes(length));
+        buffer.putInt(length);
+        input.readFully(buffer.array(), 4, buffer.remaining());
+        return codec.decodeVector(buffer.rewind());
+    }
+
+    static void writeVector(DataOutputStream output, CiphertextCodec codec, BigInteger[] vector) throws IOException {
+        ByteBuffer buffer = codec.encodeVector(vector);
+        output.write(buffer.array(), 0, buffer.limit());
+    }
+
+    public static SocketAddress parseAddress(String address) {
+        // host:port for TCP, anything else is the path of a Unix-domain socket
+        int colon = address.lastIndexOf(':');
+        if (colon > 0 && address.substring(colon + 1).matches("\\d+"))
+            return new InetSocketAddress(address.substring(0, colon), Integer.parseInt(address.substring(colon + 1)));
+        return UnixDomainSocketAddress.of(address);
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 2) {
+            System.out.println("Usage: PIRSocketServer <database file> <host:port | unix socket path> [max in-flight queries]");
+            return;
+        }
+        int maxInFlightQueries = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        SocketAddress address = parseAddress(args[1]);
+        if (address instanceof UnixDomainSocketAddress) {
+            Files.deleteIfExists(((UnixDomainSocketAddress) address).getPath());
+        }
+
+        Path databasePath = Paths.get(args[0]);
+        try (MappedPIRDatabase database = MappedPIRDatabase.open(databasePath);
+             PIRSocketServer server = new PIRSocketServer(database, ForkJoinPool.commonPool(), Runtime.getRuntime().availableProcessors(), maxInFlightQueries)) {
+            System.out.println("Serving " + database.getRowCount() + "x" + database.getColumnCount() + " database on " + server.start(address));
+            server.acceptor.join();
+        }
+    }
+}
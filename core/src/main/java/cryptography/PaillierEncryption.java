@@ -1,8 +1,11 @@
+package cryptography;
+
 import java.math.BigInteger;
-import java.util.Random;
 
 public class PaillierEncryption {
-    private BigInteger p, q, n, g, lambda;
+    private BigInteger p, q;
+    // the key pair derived from p and q at key generation, shared with other Paillier classes through get/setPrivateKey
+    private PaillierPrivateKey privateKey;
 
     public void setFirstPrimeP(BigInteger p) {
         this.p = p;
@@ -12,16 +15,10 @@ public class PaillierEncryption {
         this.q = q;
     }
 
-    public void setCompositeModulusN(BigInteger n) {
-        this.n = n;
-    }
-
-    public void setEncryptionExponentLambda(BigInteger lambda) {
-        this.lambda = lambda;
-    }
-
-    public void setGeneratorG(BigInteger g) {
-        this.g = g;
+    public void setPrivateKey(PaillierPrivateKey privateKey) {
+        this.privateKey = privateKey;
+        this.p = privateKey.getFirstPrimeP();
+        this.q = privateKey.getSecondPrimeQ();
     }
 
     public BigInteger getFirstPrimeP() {
@@ -32,80 +29,57 @@ public class PaillierEncryption {
         return q;
     }
 
-    public BigInteger getCompositeModulusN() {
-        return this.n;
+    public PaillierPrivateKey getPrivateKey() {
+        return this.privateKey;
     }
 
-    public BigInteger getEncryptionExponentLambda() {
-        return this.lambda;
+    public PaillierPublicKey getPublicKey() {
+        return this.privateKey.getPublicKey();
     }
 
-    public BigInteger getGeneratorG() {
-        return this.g;
+    public BigInteger getCompositeModulusN() {
+        return this.getPublicKey().getCompositeModulusN();
     }
 
-    public BigInteger generateRandomBigIntegerNumber(BigInteger lowerLimit, BigInteger upperLimit) {
-        BigInteger range = upperLimit.subtract(lowerLimit);
-        Random randomVariable = new Random();
-        int lengthOfRandomNumber = upperLimit.bitLength();
-        BigInteger result = new BigInteger(lengthOfRandomNumber, randomVariable);
-        if (result.compareTo(lowerLimit) < 0)
-            result = result.add(lowerLimit);
-        if (result.compareTo(range) >= 0)
-            result = result.mod(range).add(lowerLimit);
+    public BigInteger getEncryptionExponentLambda() {
+        return this.privateKey.getEncryptionExponentLambda();
+    }
 
-        return result;
+    public BigInteger getGeneratorG() {
+        return this.getPublicKey().getGeneratorG();
     }
 
     public void keyGeneration() {
-        // calculating n = p * q
-        this.setCompositeModulusN(this.p.multiply(this.q));
-
-        // calculating lambda = LCM(p-1, q-1)
-        // setting num1 = p - 1 and num2 = q - 1
-        BigInteger num1 = this.p.subtract(BigInteger.ONE);
-        BigInteger num2 = this.q.subtract(BigInteger.ONE);
-
-        // calculating GCD of num1 and num2
-        BigInteger gcd = num1.gcd(num2);
-
-        // set lambda through the LCM formula
-        // LCM * GCD = num1 * num2
-        // LCM = (num1 * num2) / GCD
-        this.setEncryptionExponentLambda((num1.multiply(num2)).divide(gcd));
+        // calculating n = p * q, lambda = LCM(p-1, q-1), g = n + 1 and the values cached for decryption
+        this.privateKey = new PaillierPrivateKey(this.p, this.q);
+    }
 
-        // setting g = n + 1
-        this.setGeneratorG(this.n.add(BigInteger.ONE));
+    public void keyGeneration(int modulusBits, PrimeGenerator generator) {
+        // generating fresh primes p and q for a modulus n of modulusBits bits instead of using the ones that were set
+        BigInteger[] primes = generator.generatePaillierPrimes(modulusBits);
+        this.p = primes[0];
+        this.q = primes[1];
+        this.keyGeneration();
     }
 
     public BigInteger encryption(BigInteger m, BigInteger r) {
-        // get the values of g and n
-        BigInteger g = this.getGeneratorG();
-        BigInteger n = this.getCompositeModulusN();
-
         // calculating ciphertext c = (g^m * r^n) mod n^2
-        BigInteger c = ((g.modPow(m, n.multiply(n))).multiply(r.modPow(n, n.multiply(n)))).mod(n.multiply(n));
+        return this.getPublicKey().encryption(m, r);
+    }
 
-        return c;
+    public BigInteger encryption(BigInteger m, PaillierNonce nonce) {
+        // calculating ciphertext c = (g^m * r^n) mod n^2 with a precomputed r^n mod n^2
+        return this.getPublicKey().encryption(m, nonce);
     }
 
     public BigInteger decryption(BigInteger c) {
-        // get the values of g and n
-        BigInteger g = this.getGeneratorG();
-        BigInteger n = this.getCompositeModulusN();
-        // get the value of lambda
-        BigInteger lambda = this.getEncryptionExponentLambda();
-
-        // calculating S = L(c^lambda mod n^2) where L(x) = (x-1)/n
-        BigInteger S = ((c.modPow(lambda, n.multiply(n)).subtract(BigInteger.ONE)).divide(n)).mod(n);
-
-        // calculating modular multiplicative inverse mu = (L(g^lambda mod n2))^(-1) mod n
-        BigInteger mu = ((g.modPow(lambda, n.multiply(n)).subtract(BigInteger.ONE)).divide(n)).modPow(BigInteger.valueOf(-1), n);
-
-        // calculating the decrypted plaintext md = (S * mu) mod n
-        BigInteger md = (S.multiply(mu)).mod(n);
+        // calculating the decrypted plaintext md = (L(c^lambda mod n^2) * mu) mod n
+        return this.privateKey.decryption(c);
+    }
 
-        return md;
+    public BigInteger decryptionCRT(BigInteger c) {
+        // calculating the decrypted plaintext md through CRT over p^2 and q^2
+        return this.privateKey.decryptionCRT(c);
     }
 
     public static void main(String[] args) {
@@ -131,10 +105,10 @@ public class PaillierEncryption {
         // Encryption
         System.out.println("-------------------- Encryption --------------------");
         // generating a random message m between [0, n-1]
-        BigInteger m = paillier.generateRandomBigIntegerNumber(BigInteger.ZERO, paillier.getCompositeModulusN().subtract(BigInteger.ONE));
+        BigInteger m = RandomSource.uniform(BigInteger.ZERO, paillier.getCompositeModulusN().subtract(BigInteger.ONE));
         System.out.println("Plaintext (randomly generate) to be encrypted is m = " + m);
         // generating a random number r between [1, n-1]
-        BigInteger r = paillier.generateRandomBigIntegerNumber(BigInteger.ONE, paillier.getCompositeModulusN().subtract(BigInteger.ONE));
+        BigInteger r = RandomSource.uniform(BigInteger.ONE, paillier.getCompositeModulusN().subtract(BigInteger.ONE));
         System.out.println("The random number is r = " + r);
         // calculating ciphertext c through encryption
         BigInteger c = paillier.encryption(m, r);
@@ -154,5 +128,18 @@ public class PaillierEncryption {
         else {
             System.out.println("Decryption was unsuccessful");
         }
+        System.out.println();
+
+        System.out.println("-------------------- Decryption (CRT) --------------------");
+        // decrypting ciphertext back to plaintext message m using the CRT constants cached at key generation
+        BigInteger mdCRT = paillier.decryptionCRT(c);
+        System.out.println("Decrypted plaintext through CRT is m = " + mdCRT);
+        System.out.println();
+        if(m.equals(mdCRT)) {
+            System.out.println("CRT decryption was successful");
+        }
+        else {
+            System.out.println("CRT decryption was unsuccessful");
+        }
     }
 }
@@ -0,0 +1,21 @@
+package cryptography;
+
+import java.math.BigInteger;
+
+public final class PaillierNonce {
+    // a random r from Z_n* together with r^n mod n^2, which is the message independent part of a Paillier ciphertext
+    private final BigInteger r, rn;
+
+    public PaillierNonce(BigInteger r, BigInteger rn) {
+        this.r = r;
+        this.rn = rn;
+    }
+
+    public BigInteger getRandomR() {
+        return this.r;
+    }
+
+    public BigInteger getRandomRToTheN() {
+        return this.rn;
+    }
+}
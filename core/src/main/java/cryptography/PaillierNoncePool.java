@@ -0,0 +1,126 @@
+package cryptography;
+
+import java.math.BigInteger;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class PaillierNoncePool implements AutoCloseable {
+    private final PaillierPublicKey publicKey;
+    private final BlockingQueue<PaillierNonce> queue;
+    private final int refillThreshold;
+    private final Thread[] workers;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition refillNeeded = lock.newCondition();
+    private final AtomicLong hits = new AtomicLong(), misses = new AtomicLong();
+    private volatile boolean running = true;
+
+    public PaillierNoncePool(PaillierPublicKey publicKey, int capacity, int refillThreshold, int workerThreads) {
+        if (capacity < 1 || refillThreshold < 0 || refillThreshold >= capacity || workerThreads < 1)
+            throw new IllegalArgumentException("capacity must be positive, refillThreshold in [0, capacity) and workerThreads positive");
+        this.publicKey = publicKey;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.refillThreshold = refillThreshold;
+
+        // starting the worker threads which keep the queue filled with fresh (r, r^n mod n^2) pairs
+        this.workers = new Thread[workerThreads];
+        for (int i = 0; i < workerThreads; i++) {
+            this.workers[i] = new Thread(this::fill, "paillier-nonce-pool-" + i);
+            this.workers[i].setDaemon(true);
+            this.workers[i].start();
+        }
+    }
+
+    public PaillierNonce take() {
+        PaillierNonce nonce = this.queue.poll();
+        if (nonce != null) {
+            this.hits.incrementAndGet();
+        }
+        else {
+            // the pool is drained, so the caller pays for the exponentiation itself
+            this.misses.incrementAndGet();
+            nonce = this.generateNonce();
+        }
+
+        // waking the workers up once the queue drops to the refill threshold
+        if (this.queue.size() <= this.refillThreshold) {
+            this.lock.lock();
+            try {
+                this.refillNeeded.signalAll();
+            }
+            finally {
+                this.lock.unlock();
+            }
+        }
+
+        return nonce;
+    }
+
+    public PaillierPublicKey getPublicKey() {
+        return this.publicKey;
+    }
+
+    public long getHits() {
+        return this.hits.get();
+    }
+
+    public long getMisses() {
+        return this.misses.get();
+    }
+
+    public int getAvailable() {
+        return this.queue.size();
+    }
+
+    @Override
+    public void close() {
+        this.running = false;
+        this.lock.lock();
+        try {
+            this.refillNeeded.signalAll();
+        }
+        finally {
+            this.lock.unlock();
+        }
+        for (Thread worker : this.workers) {
+            worker.interrupt();
+        }
+    }
+
+    private PaillierNonce generateNonce() {
+        BigInteger n = this.publicKey.getCompositeModulusN();
+
+        // sampling r uniformly from [1, n-1] with gcd(r, n) = 1 from the calling thread's own random source
+        BigInteger r = RandomSource.unit(n);
+
+        // calculating r^n mod n^2
+        return new PaillierNonce(r, r.modPow(n, this.publicKey.getCompositeModulusNSquared()));
+    }
+
+    private void fill() {
+        try {
+            while (this.running) {
+                // waiting until the queue has been drained down to the refill threshold
+                this.lock.lock();
+                try {
+                    while (this.running && this.queue.size() > this.refillThreshold) {
+                        this.refillNeeded.await();
+                    }
+                }
+                finally {
+                    this.lock.unlock();
+                }
+
+                // filling the queue back up to its capacity
+                while (this.running && this.queue.remainingCapacity() > 0) {
+                    this.queue.offer(this.generateNonce());
+                }
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package cryptography;
+
+import java.math.BigInteger;
+
+public final class PaillierPrivateKey {
+    private final PaillierPublicKey publicKey;
+    private final BigInteger p, q, lambda, mu;
+    // CRT constants used by decryptionCRT
+    private final BigInteger pSquared, qSquared, pMinusOne, qMinusOne, hp, hq, pInverseModQ;
+
+    public PaillierPrivateKey(BigInteger p, BigInteger q) {
+        this.p = p;
+        this.q = q;
+
+        // calculating n = p * q
+        BigInteger n = p.multiply(q);
+        this.publicKey = new PaillierPublicKey(n);
+
+        // calculating lambda = LCM(p-1, q-1)
+        // LCM = (num1 * num2) / GCD
+        this.pMinusOne = p.subtract(BigInteger.ONE);
+        this.qMinusOne = q.subtract(BigInteger.ONE);
+        this.lambda = (this.pMinusOne.multiply(this.qMinusOne)).divide(this.pMinusOne.gcd(this.qMinusOne));
+
+        // calculating mu = (L(g^lambda mod n^2))^(-1) mod n
+        // since g = n + 1, L(g^lambda mod n^2) = lambda mod n
+        this.mu = this.lambda.modInverse(n);
+
+        // calculating hp = (L_p(g^(p-1) mod p^2))^(-1) mod p and hq = (L_q(g^(q-1) mod q^2))^(-1) mod q where L_p(x) = (x-1)/p
+        // since g = n + 1, L_p(g^(p-1) mod p^2) = ((p-1) * q) mod p and likewise for q
+        this.pSquared = p.multiply(p);
+        this.qSquared = q.multiply(q);
+        this.hp = (this.pMinusOne.multiply(q)).modInverse(p);
+        this.hq = (this.qMinusOne.multiply(p)).modInverse(q);
+        this.pInverseModQ = p.modInverse(q);
+    }
+
+    public PaillierPublicKey getPublicKey() {
+        return this.publicKey;
+    }
+
+    public BigInteger getFirstPrimeP() {
+        return this.p;
+    }
+
+    public BigInteger getSecondPrimeQ() {
+        return this.q;
+    }
+
+    public BigInteger getEncryptionExponentLambda() {
+        return this.lambda;
+    }
+
+    public BigInteger getMu() {
+        return this.mu;
+    }
+
+    public BigInteger decryption(BigInteger c) {
+        BigInteger n = this.publicKey.getCompositeModulusN();
+
+        // calculating S = L(c^lambda mod n^2) where L(x) = (x-1)/n
+        BigInteger S = ((c.modPow(this.lambda, this.publicKey.getCompositeModulusNSquared()).subtract(BigInteger.ONE)).divide(n)).mod(n);
+
+        // calculating the decrypted plaintext md = (S * mu) mod n
+        BigInteger md = (S.multiply(this.mu)).mod(n);
+
+        return md;
+    }
+
+    public BigInteger decryptionCRT(BigInteger c) {
+        // calculating mp = (L_p(c^(p-1) mod p^2) * hp) mod p
+        BigInteger mp = ((c.mod(this.pSquared).modPow(this.pMinusOne, this.pSquared).subtract(BigInteger.ONE)).divide(this.p)).multiply(this.hp).mod(this.p);
+
+        // calculating mq = (L_q(c^(q-1) mod q^2) * hq) mod q
+        BigInteger mq = ((c.mod(this.qSquared).modPow(this.qMinusOne, this.qSquared).subtract(BigInteger.ONE)).divide(this.q)).multiply(this.hq).mod(this.q);
+
+        // recombining through CRT md = mp + (((mq - mp) * p^(-1)) mod q) * p
+        BigInteger md = mp.add(((mq.subtract(mp)).multiply(this.pInverseModQ)).mod(this.q).multiply(this.p));
+
+        return md;
+    }
+}
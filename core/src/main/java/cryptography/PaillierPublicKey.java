@@ -0,0 +1,58 @@
+package cryptography;
+
+import java.math.BigInteger;
+
+public final class PaillierPublicKey {
+    // the composite modulus n, the ciphertext modulus n^2 and the generator g = n + 1
+    private final BigInteger n, nSquared, g;
+
+    public PaillierPublicKey(BigInteger n) {
+        this.n = n;
+        this.nSquared = n.multiply(n);
+        this.g = n.add(BigInteger.ONE);
+    }
+
+    public BigInteger getCompositeModulusN() {
+        return this.n;
+    }
+
+    public BigInteger getCompositeModulusNSquared() {
+        return this.nSquared;
+    }
+
+    public BigInteger getGeneratorG() {
+        return this.g;
+    }
+
+    public BigInteger encryption(BigInteger m, BigInteger r) {
+        // calculating ciphertext c = (g^m * r^n) mod n^2
+        // since g = n + 1, g^m mod n^2 = (1 + m*n) mod n^2 which only needs a single multiplication
+        BigInteger gm = (m.mod(this.n).multiply(this.n)).add(BigInteger.ONE);
+        BigInteger c = (gm.multiply(r.modPow(this.n, this.nSquared))).mod(this.nSquared);
+
+        return c;
+    }
+
+    public BigInteger encryption(BigInteger m, PaillierNonce nonce) {
+        // calculating ciphertext c = (g^m * r^n) mod n^2 with r^n mod n^2 precomputed by a PaillierNoncePool
+        BigInteger gm = (m.mod(this.n).multiply(this.n)).add(BigInteger.ONE);
+        BigInteger c = (gm.multiply(nonce.getRandomRToTheN())).mod(this.nSquared);
+
+        return c;
+    }
+
+    public BigInteger homomorphicAddition(BigInteger c1, BigInteger c2) {
+        // Enc(m1) * Enc(m2) mod n^2 = Enc(m1 + m2)
+        return (c1.multiply(c2)).mod(this.nSquared);
+    }
+
+    public BigInteger homomorphicScalarMultiplication(BigInteger c, BigInteger k) {
+        // Enc(m)^k mod n^2 = Enc(k * m), a negative k inverts the ciphertext
+        return c.modPow(k, this.nSquared);
+    }
+
+    public BigInteger rerandomization(BigInteger c, PaillierNonce nonce) {
+        // Enc(m) * r^n mod n^2 is a fresh encryption of the same m whose randomness no longer depends on the one of c
+        return (c.multiply(nonce.getRandomRToTheN())).mod(this.nSquared);
+    }
+}
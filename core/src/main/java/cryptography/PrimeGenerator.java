@@ -0,0 +1,184 @@
+package cryptography;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+public class PrimeGenerator {
+    // number of consecutive odd candidates sieved at once from every random starting point
+    private static final int WINDOW = 1 << 12;
+    private static final int SIEVE_LIMIT = 1 << 14;
+    private static final int CERTAINTY = 128;
+    private static final int MIN_BITS = 32;
+    private static final int[] SMALL_PRIMES = smallOddPrimes(SIEVE_LIMIT);
+
+    private final Executor executor;
+    private final int parallelism;
+
+    public PrimeGenerator() {
+        this(Runnable::run, 1);
+    }
+
+    public PrimeGenerator(Executor executor, int parallelism) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("parallelism must be positive");
+        this.executor = executor;
+        this.parallelism = parallelism;
+    }
+
+    public int getParallelism() {
+        return this.parallelism;
+    }
+
+    public BigInteger generatePrime(int bits) {
+        return join(this.generatePrimeAsync(bits));
+    }
+
+    public CompletableFuture<BigInteger> generatePrimeAsync(int bits) {
+        return this.search(bits, false);
+    }
+
+    public BigInteger generateSafePrime(int bits) {
+        return join(this.generateSafePrimeAsync(bits));
+    }
+
+    public CompletableFuture<BigInteger> generateSafePrimeAsync(int bits) {
+        // searching for a Sophie Germain prime q of bits-1 bits, the result is p = 2q + 1
+        return this.search(bits, true);
+    }
+
+    public BigInteger[] generatePaillierPrimes(int modulusBits) {
+        // both primes have their top two bits set, so n = p * q has exactly modulusBits bits, and as p and q
+        // have the same length gcd(n, (p-1)(q-1)) = 1 holds for g = n + 1
+        BigInteger p = this.generatePrime((modulusBits + 1) / 2);
+        BigInteger q;
+        do {
+            q = this.generatePrime(modulusBits / 2);
+        } while (q.equals(p));
+        return new BigInteger[]{p, q};
+    }
+
+    public BigInteger[] generateElgamalGroup(int bits) {
+        BigInteger p = this.generateSafePrime(bits);
+        return new BigInteger[]{p, generator(p)};
+    }
+
+    public static BigInteger generator(BigInteger safePrime) {
+        // the order of Z_p* is 2q, ElGamal has to work in the subgroup of quadratic residues of prime order q, as in
+        // all of Z_p* the Legendre symbols of c1 and y reveal whether c2 is a residue and with it one bit of m,
+        // 4 = 2^2 is a residue other than 1 and therefore generates that subgroup
+        if (safePrime.compareTo(BigInteger.valueOf(7)) < 0)
+            throw new IllegalArgumentException("the safe prime must be at least 7");
+        return BigInteger.valueOf(4);
+    }
+
+    public static boolean generatesQuadraticResidues(BigInteger safePrime, BigInteger g) {
+        // g generates the subgroup of order q iff g is not 1 and g^q = 1 mod p
+        BigInteger q = safePrime.shiftRight(1);
+        return g.compareTo(BigInteger.ONE) > 0 && g.compareTo(safePrime) < 0 && g.modPow(q, safePrime).equals(BigInteger.ONE);
+    }
+
+    private CompletableFuture<BigInteger> search(int bits, boolean safe) {
+        if (bits < MIN_BITS)
+            throw new IllegalArgumentException("bits must be at least " + MIN_BITS);
+
+        // every task searches from its own random starting points until one of them completes the result,
+        // completing or cancelling the future is the signal for all other tasks to stop
+        CompletableFuture<BigInteger> result = new CompletableFuture<>();
+        for (int task = 0; task < this.parallelism && !result.isDone(); task++) {
+            this.executor.execute(() -> {
+                try {
+                    searchWindows(bits, safe, result);
+                }
+                catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        }
+        return result;
+    }
+
+    private static void searchWindows(int bits, boolean safe, CompletableFuture<BigInteger> result) {
+        SecureRandom random = RandomSource.current();
+        int candidateBits = safe ? bits - 1 : bits;
+        boolean[] composite = new boolean[WINDOW];
+        while (!result.isDone()) {
+            // selecting a random odd starting point with the top two bits set
+            BigInteger start = new BigInteger(candidateBits, random).setBit(candidateBits - 1).setBit(candidateBits - 2).setBit(0);
+            sieve(start, safe, composite);
+            for (int k = 0; k < WINDOW && !result.isDone(); k++) {
+                if (composite[k])
+                    continue;
+                BigInteger candidate = start.add(BigInteger.valueOf(2L * k));
+                if (candidate.bitLength() != candidateBits)
+                    break;
+                if (safe ? isSafePrimeCandidate(candidate) : candidate.isProbablePrime(CERTAINTY)) {
+                    result.complete(safe ? candidate.shiftLeft(1).setBit(0) : candidate);
+                    return;
+                }
+            }
+        }
+    }
+
+    private static void sieve(BigInteger start, boolean safe, boolean[] composite) {
+        // marking every offset k where start + 2k, or 2(start + 2k) + 1 for safe primes, has a small prime factor
+        Arrays.fill(composite, false);
+        for (int s : SMALL_PRIMES) {
+            long r = start.mod(BigInteger.valueOf(s)).longValue();
+            long inverseOfTwo = (s + 1) / 2;
+            // start + 2k = 0 mod s for k = -r / 2 mod s
+            mark(composite, (int) ((s - r) * inverseOfTwo % s), s);
+            if (safe) {
+                // 2(start + 2k) + 1 = 0 mod s for start + 2k = (s - 1) / 2 mod s
+                mark(composite, (int) (((s - 1) / 2 - r + s) % s * inverseOfTwo % s), s);
+            }
+        }
+    }
+
+    private static void mark(boolean[] composite, int first, int step) {
+        for (int k = first; k < composite.length; k += step) {
+            composite[k] = true;
+        }
+    }
+
+    private static boolean isSafePrimeCandidate(BigInteger q) {
+        BigInteger p = q.shiftLeft(1).setBit(0);
+        // a Fermat test to base 2 on q and then on p rejects nearly every composite with one exponentiation each,
+        // only the survivors pay for the full Miller-Rabin and Lucas tests
+        if (!BigInteger.TWO.modPow(q.subtract(BigInteger.ONE), q).equals(BigInteger.ONE))
+            return false;
+        if (!BigInteger.TWO.modPow(q.shiftLeft(1), p).equals(BigInteger.ONE))
+            return false;
+        return q.isProbablePrime(CERTAINTY) && p.isProbablePrime(CERTAINTY);
+    }
+
+    private static int[] smallOddPrimes(int limit) {
+        // sieve of Eratosthenes over [3, limit)
+        boolean[] composite = new boolean[limit];
+        int count = 0;
+        int[] primes = new int[limit];
+        for (int i = 3; i < limit; i += 2) {
+            if (composite[i])
+                continue;
+            primes[count++] = i;
+            for (long j = (long) i * i; j < limit; j += 2L * i) {
+                composite[(int) j] = true;
+            }
+        }
+        return Arrays.copyOf(primes, count);
+    }
+
+    private static BigInteger join(CompletableFuture<BigInteger> future) {
+        try {
+            return future.join();
+        }
+        catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package cryptography;
+
+import java.math.BigInteger;
+import java.security.DrbgParameters;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+
+public final class RandomSource {
+    // every thread draws from its own DRBG instance, so concurrent samplers never contend on a shared lock
+    private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(RandomSource::newInstance);
+    private static final int MAX_BUFFER = 1 << 20;
+
+    private RandomSource() {
+    }
+
+    public static SecureRandom current() {
+        return RANDOM.get();
+    }
+
+    private static SecureRandom newInstance() {
+        // a 256-bit Hash/HMAC/CTR DRBG seeded from the system entropy source, falling back to the platform default
+        try {
+            return SecureRandom.getInstance("DRBG", DrbgParameters.instantiation(256, DrbgParameters.Capability.RESEED_ONLY, null));
+        }
+        catch (NoSuchAlgorithmException e) {
+            return new SecureRandom();
+        }
+    }
+
+    public static BigInteger uniform(BigInteger lowerLimit, BigInteger upperLimit) {
+        // sampling uniformly from [lowerLimit, upperLimit] by drawing just enough bits for the range and rejecting values
+        // outside of it, which takes less than two draws on average and unlike reducing mod the range has no bias
+        BigInteger range = range(lowerLimit, upperLimit);
+        int bits = range.subtract(BigInteger.ONE).bitLength();
+        SecureRandom random = current();
+        BigInteger result;
+        do {
+            result = new BigInteger(bits, random);
+        } while (result.compareTo(range) >= 0);
+        return result.add(lowerLimit);
+    }
+
+    public static BigInteger[] uniform(BigInteger lowerLimit, BigInteger upperLimit, int count) {
+        BigInteger[] values = new BigInteger[count];
+        uniform(lowerLimit, upperLimit, values, 0, count);
+        return values;
+    }
+
+    public static void uniform(BigInteger lowerLimit, BigInteger upperLimit, BigInteger[] values, int from, int to) {
+        // filling values[from, to) with independent uniform samples from [lowerLimit, upperLimit], cutting them out of
+        // one large buffer of random bytes instead of calling the DRBG once per value
+        BigInteger range = range(lowerLimit, upperLimit);
+        int bits = range.subtract(BigInteger.ONE).bitLength();
+        if (bits == 0) {
+            for (int index = from; index < to; index++) {
+                values[index] = lowerLimit;
+            }
+            return;
+        }
+        int width = (bits + 7) / 8;
+        int topMask = 0xFF >>> (width * 8 - bits);
+        SecureRandom random = current();
+
+        // every draw is accepted with probability above 1/2, a buffer a quarter larger than needed usually suffices
+        // and is refilled otherwise, it is capped at MAX_BUFFER bytes for large requests
+        long wanted = (long) width * ((to - from) + (to - from) / 4 + 1);
+        byte[] buffer = new byte[(int) Math.max(width, Math.min(wanted, MAX_BUFFER))];
+        int position = buffer.length;
+        byte[] sample = new byte[width];
+        for (int index = from; index < to; ) {
+            if (position + width > buffer.length) {
+                random.nextBytes(buffer);
+                position = 0;
+            }
+            System.arraycopy(buffer, position, sample, 0, width);
+            position += width;
+            sample[0] &= (byte) topMask;
+            BigInteger value = new BigInteger(1, sample);
+            if (value.compareTo(range) < 0) {
+                values[index++] = value.add(lowerLimit);
+            }
+        }
+    }
+
+    public static BigInteger unit(BigInteger n) {
+        // sampling r uniformly from [1, n-1] with gcd(r, n) = 1 by rejection
+        BigInteger r;
+        do {
+            r = uniform(BigInteger.ONE, n.subtract(BigInteger.ONE));
+        } while (!r.gcd(n).equals(BigInteger.ONE));
+        return r;
+    }
+
+    private static BigInteger range(BigInteger lowerLimit, BigInteger upperLimit) {
+        if (upperLimit.compareTo(lowerLimit) < 0)
+            throw new IllegalArgumentException("upperLimit " + upperLimit + " is below lowerLimit " + lowerLimit);
+        return upperLimit.subtract(lowerLimit).add(BigInteger.ONE);
+    }
+}
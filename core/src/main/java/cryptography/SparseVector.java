@@ -0,0 +1,72 @@
+package cryptography;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+public final class SparseVector {
+    // the non-zero entries of a plaintext weight vector as strictly increasing indices and their signed values
+    private final int dimension;
+    private final int[] indices;
+    private final BigInteger[] values;
+
+    public SparseVector(int dimension, int[] indices, BigInteger[] values) {
+        if (indices.length != values.length)
+            throw new IllegalArgumentException("expected " + indices.length + " values but got " + values.length);
+        for (int j = 0; j < indices.length; j++) {
+            if (indices[j] < 0 || indices[j] >= dimension || (j > 0 && indices[j] <= indices[j - 1]))
+                throw new IllegalArgumentException("indices must be strictly increasing and in [0, " + dimension + ")");
+            if (values[j].signum() == 0)
+                throw new IllegalArgumentException("the value at index " + indices[j] + " is zero");
+        }
+        this.dimension = dimension;
+        this.indices = indices.clone();
+        this.values = values.clone();
+    }
+
+    public static SparseVector fromDense(BigInteger[] weights) {
+        return fromDense(weights, 0, weights.length);
+    }
+
+    public static SparseVector fromDense(BigInteger[] weights, int from, int to) {
+        // keeping only the non-zero weights of weights[from, to), index 0 of the result is weights[from]
+        int[] indices = new int[to - from];
+        BigInteger[] values = new BigInteger[to - from];
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (weights[i].signum() != 0) {
+                indices[count] = i - from;
+                values[count++] = weights[i];
+            }
+        }
+        return new SparseVector(to - from, Arrays.copyOf(indices, count), Arrays.copyOf(values, count));
+    }
+
+    public static SparseVector fromDense(long[] weights) {
+        int[] indices = new int[weights.length];
+        BigInteger[] values = new BigInteger[weights.length];
+        int count = 0;
+        for (int i = 0; i < weights.length; i++) {
+            if (weights[i] != 0) {
+                indices[count] = i;
+                values[count++] = BigInteger.valueOf(weights[i]);
+            }
+        }
+        return new SparseVector(weights.length, Arrays.copyOf(indices, count), Arrays.copyOf(values, count));
+    }
+
+    public int getDimension() {
+        return this.dimension;
+    }
+
+    public int size() {
+        return this.indices.length;
+    }
+
+    public int index(int j) {
+        return this.indices[j];
+    }
+
+    public BigInteger value(int j) {
+        return this.values[j];
+    }
+}
@@ -0,0 +1,190 @@
+package cryptography;
+
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.KeyAgreement;
+import java.math.BigInteger;
+import java.security.AlgorithmParameters;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EllipticCurveTest {
+    private static final EllipticCurve CURVE = EllipticCurve.P256;
+    private static final int KEYS = 20;
+
+    @Test
+    public void scalarMultiplicationMatchesTheJdk() throws Exception {
+        // the public key the JDK derives for its own private key d has to be d * G, both through the fixed-base table
+        // of the generator and through the variable-base wNAF multiplication
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        for (int i = 0; i < KEYS; i++) {
+            KeyPair pair = generator.generateKeyPair();
+            BigInteger d = ((ECPrivateKey) pair.getPrivate()).getS();
+            CurvePoint expected = fromJdk(((ECPublicKey) pair.getPublic()).getW());
+            assertEquals(expected, CURVE.getGeneratorTable().multiply(d));
+            assertEquals(expected, CURVE.multiply(CURVE.getGenerator(), d));
+        }
+    }
+
+    @Test
+    public void sharedSecretMatchesJdkEcdh() throws Exception {
+        // the JDK agrees on x(a * B) from its private key a and the public key B = b * G computed here, which has to be
+        // the x coordinate of b * A computed here with the variable-base multiplication
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+        parameters.init(new ECGenParameterSpec("secp256r1"));
+        ECParameterSpec spec = parameters.getParameterSpec(ECParameterSpec.class);
+        KeyFactory factory = KeyFactory.getInstance("EC");
+        Random random = new Random(1);
+        for (int i = 0; i < KEYS; i++) {
+            KeyPair pair = generator.generateKeyPair();
+            BigInteger b = new BigInteger(256, random).mod(CURVE.getOrder().subtract(BigInteger.ONE)).add(BigInteger.ONE);
+            CurvePoint publicB = CURVE.getGeneratorTable().multiply(b);
+
+            KeyAgreement agreement = KeyAgreement.getInstance("ECDH");
+            agreement.init(pair.getPrivate());
+            agreement.doPhase(factory.generatePublic(new ECPublicKeySpec(new ECPoint(publicB.getX(), publicB.getY()), spec)), true);
+            BigInteger expected = new BigInteger(1, agreement.generateSecret());
+
+            CurvePoint shared = CURVE.multiply(fromJdk(((ECPublicKey) pair.getPublic()).getW()), b);
+            assertEquals(expected, shared.getX());
+        }
+    }
+
+    @Test
+    public void orderTimesGeneratorIsInfinity() {
+        // n * G is the point at infinity, and (n - 1) * G + G reaches it through the addition formulas
+        BigInteger n = CURVE.getOrder();
+        CurvePoint g = CURVE.getGenerator();
+        assertTrue(CURVE.multiply(g, n).isInfinity());
+        assertTrue(CURVE.getGeneratorTable().multiply(n).isInfinity());
+        CurvePoint beforeInfinity = CURVE.multiply(g, n.subtract(BigInteger.ONE));
+        assertEquals(CURVE.negate(g), beforeInfinity);
+        assertEquals(CURVE.negate(g), CURVE.getGeneratorTable().multiply(n.subtract(BigInteger.ONE)));
+        assertTrue(CURVE.add(beforeInfinity, g).isInfinity());
+        assertTrue(CURVE.isOnCurve(beforeInfinity));
+    }
+
+    @Test
+    public void additionAndDoublingAgree() {
+        // P + P has to take the doubling path and match 2 * P, P - P has to be the point at infinity
+        Random random = new Random(2);
+        for (int i = 0; i < KEYS; i++) {
+            CurvePoint p = CURVE.getGeneratorTable().multiply(new BigInteger(256, random));
+            CurvePoint q = CURVE.getGeneratorTable().multiply(new BigInteger(256, random));
+            assertEquals(CURVE.multiply(p, BigInteger.TWO), CURVE.add(p, p));
+            assertTrue(CURVE.subtract(p, p).isInfinity());
+            assertEquals(CURVE.add(p, q), CURVE.add(q, p));
+            assertEquals(p, CURVE.add(p, CurvePoint.INFINITY));
+            assertTrue(CURVE.isOnCurve(CURVE.add(p, q)));
+        }
+    }
+
+    @Test
+    public void wnafRecodesTheScalar() {
+        // the signed digits sum up to k, are odd and below 2^(w-1) in magnitude, and are followed by w-1 zeros
+        Random random = new Random(3);
+        int width = 5;
+        for (int i = 0; i < 200; i++) {
+            BigInteger k = new BigInteger(1 + random.nextInt(256), random);
+            int[] digits = EllipticCurve.wnaf(k, width);
+            BigInteger sum = BigInteger.ZERO;
+            int lastNonZero = -width;
+            for (int j = 0; j < digits.length; j++) {
+                if (digits[j] == 0)
+                    continue;
+                assertTrue((digits[j] & 1) != 0 && Math.abs(digits[j]) < 1 << (width - 1));
+                assertTrue(j - lastNonZero >= width);
+                lastNonZero = j;
+                sum = sum.add(BigInteger.valueOf(digits[j]).shiftLeft(j));
+            }
+            assertEquals(k, sum);
+        }
+    }
+
+    @Test
+    public void encodingRoundTripsBothParities() {
+        // collecting points until both y parities were seen, every one has to decode back to itself
+        Random random = new Random(4);
+        boolean[] seen = new boolean[2];
+        for (int i = 0; i < 64 || !(seen[0] && seen[1]); i++) {
+            CurvePoint p = CURVE.getGeneratorTable().multiply(new BigInteger(256, random));
+            byte[] encoded = CURVE.encode(p);
+            assertEquals(CURVE.getEncodedLength(), encoded.length);
+            assertEquals(p.getY().testBit(0) ? 0x03 : 0x02, encoded[0]);
+            seen[p.getY().testBit(0) ? 1 : 0] = true;
+            assertEquals(p, CURVE.decode(encoded, 0));
+            assertEquals(CURVE.negate(p), CURVE.decode(withPrefix(encoded, encoded[0] ^ 0x01), 0));
+        }
+
+        // at an offset inside a larger buffer, and the point at infinity as all zeros
+        CurvePoint g = CURVE.getGenerator();
+        byte[] buffer = new byte[3 + CURVE.getEncodedLength()];
+        CURVE.encode(g, buffer, 3);
+        assertEquals(g, CURVE.decode(buffer, 3));
+        assertArrayEquals(new byte[CURVE.getEncodedLength()], CURVE.encode(CurvePoint.INFINITY));
+        assertTrue(CURVE.decode(new byte[CURVE.getEncodedLength()], 0).isInfinity());
+    }
+
+    @Test
+    public void decodingRejectsInvalidInput() {
+        // x with a non-residue x^3 - 3x + b is not the coordinate of any point and has to be rejected
+        BigInteger p = CURVE.getFieldPrime();
+        BigInteger b = new BigInteger("5ac635d8aa3a93e7b3ebbd55769886bc651d06b0cc53b0f63bce3c3e27d2604b", 16);
+        int rejected = 0;
+        for (int x = 0; rejected < 10; x++) {
+            BigInteger bx = BigInteger.valueOf(x);
+            BigInteger rightHandSide = bx.pow(3).subtract(bx.multiply(BigInteger.valueOf(3))).add(b).mod(p);
+            if (!rightHandSide.modPow(p.shiftRight(1), p).equals(p.subtract(BigInteger.ONE)))
+                continue;
+            byte[] encoded = withX(bx);
+            assertThrows(IllegalArgumentException.class, () -> CURVE.decode(encoded, 0));
+            rejected++;
+        }
+
+        // x = p is out of range, the prefix has to be 0x02 or 0x03 and the input has to hold a full encoding
+        assertThrows(IllegalArgumentException.class, () -> CURVE.decode(withX(p), 0));
+        byte[] g = CURVE.encode(CURVE.getGenerator());
+        assertThrows(IllegalArgumentException.class, () -> CURVE.decode(withPrefix(g, 0x04), 0));
+        assertThrows(IllegalArgumentException.class, () -> CURVE.decode(withPrefix(g, 0x00), 0));
+        assertThrows(IllegalArgumentException.class, () -> CURVE.decode(Arrays.copyOf(g, g.length - 1), 0));
+        assertThrows(IllegalArgumentException.class, () -> CURVE.decode(g, 1));
+        assertThrows(IllegalArgumentException.class, () -> CURVE.decode(g, -1));
+    }
+
+    private static CurvePoint fromJdk(ECPoint point) {
+        return new CurvePoint(point.getAffineX(), point.getAffineY());
+    }
+
+    private static byte[] withPrefix(byte[] encoded, int prefix) {
+        byte[] copy = encoded.clone();
+        copy[0] = (byte) prefix;
+        return copy;
+    }
+
+    private static byte[] withX(BigInteger x) {
+        // 0x02 followed by x as a fixed width big-endian integer
+        byte[] encoded = new byte[CURVE.getEncodedLength()];
+        encoded[0] = 0x02;
+        byte[] bytes = x.toByteArray();
+        int length = Math.min(bytes.length, encoded.length - 1);
+        System.arraycopy(bytes, bytes.length - length, encoded, encoded.length - length, length);
+        return encoded;
+    }
+}